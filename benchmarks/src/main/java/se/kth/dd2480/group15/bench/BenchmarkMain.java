@@ -0,0 +1,46 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line options and always
+ * attaches the GC profiler, so every result is reported together with its allocation rate
+ * ({@code gc.alloc.rate.norm} is the number of bytes allocated per operation).
+ *
+ * <p>The forked JVMs are started with the {@code jdk.incubator.vector} module, so the LICs run
+ * their SIMD kernels on array-backed tracks.</p>
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+
+        List<String> jvmArgs = new ArrayList<>(List.of("--add-modules=jdk.incubator.vector"));
+        if (commandLine.getJvmArgsPrepend().hasValue()) {
+            jvmArgs.addAll(commandLine.getJvmArgsPrepend().get());
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .jvmArgsPrepend(jvmArgs.toArray(new String[0]))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Runner runner = new Runner(options);
+        if (commandLine.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
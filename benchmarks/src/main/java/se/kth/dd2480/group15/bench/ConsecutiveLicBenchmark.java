@@ -0,0 +1,76 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.kth.dd2480.group15.model.ArrayTrack;
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Benchmarks for the LICs that only look at runs of consecutive points (0, 1, 2, 3 and 5) and
+ * therefore have no window parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ConsecutiveLicBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int numPoints;
+
+    @Param({"BEST", "WORST"})
+    private Scenario scenario;
+
+    private final LicEvaluator evaluator = new LicEvaluator();
+    private Track track;
+    private Parameters params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Copied once, so that the benchmarks measure the LICs rather than the copy
+        track = ArrayTrack.copyOf(scenario.points(numPoints), numPoints);
+        params = scenario.parameters().build();
+    }
+
+    @Benchmark
+    public boolean lic0() {
+        return evaluator.Lic0(track, params);
+    }
+
+    @Benchmark
+    public boolean lic1() {
+        return evaluator.Lic1(track, params);
+    }
+
+    @Benchmark
+    public boolean lic2() {
+        return evaluator.Lic2(track, params);
+    }
+
+    @Benchmark
+    public boolean lic3() {
+        return evaluator.Lic3(track, params);
+    }
+
+    @Benchmark
+    public boolean lic5() {
+        return evaluator.Lic5(track);
+    }
+}
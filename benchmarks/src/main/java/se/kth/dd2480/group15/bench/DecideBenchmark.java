@@ -0,0 +1,102 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.kth.dd2480.group15.Decide;
+import se.kth.dd2480.group15.model.ArrayTrack;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.DecideContext;
+import se.kth.dd2480.group15.model.Evaluator;
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Point;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * End-to-end benchmarks of a single decision: all 15 LICs followed by PUM, FUV and LAUNCH.
+ * The LCM connects every pair with ANDD and every PUV entry is set, so no LIC can be skipped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DecideBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int numPoints;
+
+    @Param({"BEST", "WORST"})
+    private Scenario scenario;
+
+    @Param({"1", "100"})
+    private int window;
+
+    private final LicEvaluator evaluator = new LicEvaluator();
+    private final Connectors[][] LCM = new Connectors[15][15];
+    private final boolean[] PUV = new boolean[15];
+    private final DecideContext context = new DecideContext();
+    private PackedLcm packedLCM;
+    private Point[] points;
+    private Track track;
+    private Parameters params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        points = scenario.points(numPoints);
+        track = ArrayTrack.copyOf(points, numPoints);
+        params = scenario.parameters()
+                .qPts(window + 2)
+                .nPts(window + 2)
+                .kPts(window)
+                .aPts(window)
+                .bPts(window)
+                .cPts(window)
+                .dPts(window)
+                .ePts(window)
+                .fPts(window)
+                .gPts(window)
+                .build();
+        for (Connectors[] row : LCM) {
+            Arrays.fill(row, Connectors.ANDD);
+        }
+        Arrays.fill(PUV, true);
+        packedLCM = PackedLcm.of(LCM);
+    }
+
+    @Benchmark
+    public String decide() {
+        return Decide.decide(LCM, PUV, points, params, numPoints);
+    }
+
+    @Benchmark
+    public String decideWithContext() {
+        return Decide.decide(context, packedLCM, Evaluator.ALL, track, params);
+    }
+
+    @Benchmark
+    public boolean[] evaluateLics() {
+        return evaluator.evaluateLics(track, params);
+    }
+
+    @Benchmark
+    public boolean[] evaluateLicsFused() {
+        return evaluator.evaluateLicsFused(track, params);
+    }
+}
@@ -0,0 +1,87 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.kth.dd2480.group15.model.CompiledPolicy;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.Evaluator;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * Benchmarks for the CMV to LAUNCH stage in {@link Evaluator}, independent of the track.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvaluatorBenchmark {
+
+    private final Evaluator evaluator = new Evaluator();
+    private final Connectors[][] LCM = new Connectors[15][15];
+    private final boolean[] CMV = new boolean[15];
+    private final boolean[] PUV = new boolean[15];
+    private boolean[][] PUM;
+    private PackedLcm packedLCM;
+    private int packedCMV;
+    private int packedPUV;
+    private CompiledPolicy policy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Connectors[] connectors = Connectors.values();
+        for (int i = 0; i < 15; i++) {
+            for (int j = i; j < 15; j++) {
+                LCM[i][j] = connectors[(i + j) % connectors.length];
+                LCM[j][i] = LCM[i][j];
+            }
+            CMV[i] = i % 3 != 0;
+        }
+        Arrays.fill(PUV, true);
+        PUM = evaluator.evaluatePUM(LCM, CMV);
+        packedLCM = PackedLcm.of(LCM);
+        packedCMV = Utils.pack(CMV);
+        packedPUV = Utils.pack(PUV);
+        policy = CompiledPolicy.compile(packedLCM, packedPUV);
+    }
+
+    @Benchmark
+    public boolean[][] evaluatePUM() {
+        return evaluator.evaluatePUM(LCM, CMV);
+    }
+
+    @Benchmark
+    public boolean[] evaluateFUV() {
+        return evaluator.evaluateFUV(PUM, PUV);
+    }
+
+    @Benchmark
+    public boolean evaluateLAUNCH() {
+        return evaluator.evaluateLAUNCH(evaluator.evaluateFUV(evaluator.evaluatePUM(LCM, CMV), PUV));
+    }
+
+    @Benchmark
+    public boolean evaluateLAUNCHPacked() {
+        return evaluator.evaluateLAUNCH(evaluator.evaluateFUV(packedLCM, packedCMV, packedPUV));
+    }
+
+    @Benchmark
+    public boolean launchCompiled() {
+        return policy.launch(packedCMV);
+    }
+}
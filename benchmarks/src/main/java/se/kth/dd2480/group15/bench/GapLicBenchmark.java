@@ -0,0 +1,107 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.kth.dd2480.group15.model.ArrayTrack;
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Benchmarks for the LICs that compare points separated by intervening points. The first gap is
+ * used for {@code kPts}, {@code gPts}, {@code aPts}, {@code cPts} and {@code ePts}; the second gap
+ * for {@code bPts}, {@code dPts} and {@code fPts}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class GapLicBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int numPoints;
+
+    @Param({"BEST", "WORST"})
+    private Scenario scenario;
+
+    @Param({"1", "100"})
+    private int firstGap;
+
+    @Param({"1", "100"})
+    private int secondGap;
+
+    private final LicEvaluator evaluator = new LicEvaluator();
+    private Track track;
+    private Parameters params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Copied once, so that the benchmarks measure the LICs rather than the copy
+        track = ArrayTrack.copyOf(scenario.points(numPoints), numPoints);
+        params = scenario.parameters()
+                .kPts(firstGap)
+                .gPts(firstGap)
+                .aPts(firstGap)
+                .bPts(secondGap)
+                .cPts(firstGap)
+                .dPts(secondGap)
+                .ePts(firstGap)
+                .fPts(secondGap)
+                .build();
+    }
+
+    @Benchmark
+    public boolean lic7() {
+        return evaluator.Lic7(track, params);
+    }
+
+    @Benchmark
+    public boolean lic8() {
+        return evaluator.Lic8(track, params);
+    }
+
+    @Benchmark
+    public boolean lic9() {
+        return evaluator.Lic9(track, params);
+    }
+
+    @Benchmark
+    public boolean lic10() {
+        return evaluator.Lic10(track, params);
+    }
+
+    @Benchmark
+    public boolean lic11() {
+        return evaluator.Lic11(track, params);
+    }
+
+    @Benchmark
+    public boolean lic12() {
+        return evaluator.Lic12(track, params);
+    }
+
+    @Benchmark
+    public boolean lic13() {
+        return evaluator.Lic13(track, params);
+    }
+
+    @Benchmark
+    public boolean lic14() {
+        return evaluator.Lic14(track, params);
+    }
+}
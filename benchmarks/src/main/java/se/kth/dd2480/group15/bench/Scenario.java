@@ -0,0 +1,90 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.Random;
+
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Point;
+
+/**
+ * Input shapes used by the benchmarks to pin down how much of a track an LIC has to scan.
+ *
+ * <ul>
+ *   <li>{@link #BEST}: scattered points and permissive thresholds, so every LIC is satisfied by its
+ *   first window and returns immediately.</li>
+ *   <li>{@link #WORST}: a nearly straight track in the first quadrant with strictly increasing x and
+ *   thresholds that can never be reached, so every LIC has to visit every window.</li>
+ * </ul>
+ */
+public enum Scenario {
+
+    BEST {
+        @Override
+        Point[] points(int numPoints, Random random) {
+            Point[] points = new Point[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                points[i] = new Point(random.nextDouble(-1000, 1000), random.nextDouble(-1000, 1000));
+            }
+            return points;
+        }
+
+        @Override
+        public Parameters.Builder parameters() {
+            return Parameters.builder()
+                    .length1(0)
+                    .radius1(0)
+                    .epsilon(0.1)
+                    .area1(0)
+                    .quads(1)
+                    .dist(0)
+                    .length2(1e12)
+                    .radius2(1e12)
+                    .area2(1e12);
+        }
+    },
+
+    WORST {
+        @Override
+        Point[] points(int numPoints, Random random) {
+            Point[] points = new Point[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                points[i] = new Point(i + random.nextDouble(0, 0.5), random.nextDouble(1, 1.1));
+            }
+            return points;
+        }
+
+        @Override
+        public Parameters.Builder parameters() {
+            // The track bends by less than PI/2 at every vertex, so PI - epsilon is never undercut.
+            return Parameters.builder()
+                    .length1(1e12)
+                    .radius1(1e12)
+                    .epsilon(LicEvaluator.PI / 2 + 0.1)
+                    .area1(1e12)
+                    .quads(1)
+                    .dist(1e12)
+                    .length2(0)
+                    .radius2(0)
+                    .area2(0);
+        }
+    };
+
+    private static final long SEED = 2480L;
+
+    /**
+     * Generates a reproducible track for this scenario.
+     *
+     * @param numPoints the number of points in the track
+     * @return the generated points
+     */
+    public Point[] points(int numPoints) {
+        return points(numPoints, new Random(SEED));
+    }
+
+    abstract Point[] points(int numPoints, Random random);
+
+    /**
+     * @return a builder preloaded with the thresholds of this scenario; window sizes are left to the caller
+     */
+    public abstract Parameters.Builder parameters();
+}
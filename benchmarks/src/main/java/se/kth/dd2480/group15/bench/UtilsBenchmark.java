@@ -0,0 +1,101 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import se.kth.dd2480.group15.model.Point;
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * Benchmarks for the geometric kernels in {@link Utils}. Each invocation runs the kernel over
+ * {@value #TRIANGLES} precomputed triangles, so the reported time is per kernel call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilsBenchmark {
+
+    private static final int TRIANGLES = 1024;
+
+    /**
+     * Shape of the generated triangles. {@code getCircleRadius} takes a cheaper path for
+     * right and obtuse triangles than for acute ones.
+     */
+    public enum Shape { ACUTE, OBTUSE }
+
+    @Param({"ACUTE", "OBTUSE"})
+    private Shape shape;
+
+    private final Point[] first = new Point[TRIANGLES];
+    private final Point[] second = new Point[TRIANGLES];
+    private final Point[] third = new Point[TRIANGLES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(2480L);
+        for (int i = 0; i < TRIANGLES; i++) {
+            // Points on a circle: the triangle is acute iff the centre lies inside it
+            double spread = shape == Shape.ACUTE ? 2 * Math.PI / 3 : Math.PI / 6;
+            double start = random.nextDouble(0, 2 * Math.PI);
+            double radius = random.nextDouble(1, 100);
+            first[i] = onCircle(radius, start);
+            second[i] = onCircle(radius, start + spread + random.nextDouble(-0.1, 0.1));
+            third[i] = onCircle(radius, start + 2 * spread + random.nextDouble(-0.1, 0.1));
+        }
+    }
+
+    private static Point onCircle(double radius, double angle) {
+        return new Point(radius * Math.cos(angle), radius * Math.sin(angle));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public void getCircleRadius(Blackhole blackhole) {
+        for (int i = 0; i < TRIANGLES; i++) {
+            blackhole.consume(Utils.getCircleRadius(first[i], second[i], third[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public void getSquaredCircleRadius(Blackhole blackhole) {
+        for (int i = 0; i < TRIANGLES; i++) {
+            blackhole.consume(Utils.getSquaredCircleRadius(first[i].x(), first[i].y(),
+                    second[i].x(), second[i].y(), third[i].x(), third[i].y()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public void angleAtVertex(Blackhole blackhole) {
+        for (int i = 0; i < TRIANGLES; i++) {
+            blackhole.consume(Utils.angleAtVertex(first[i], second[i], third[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public void getTriangleArea(Blackhole blackhole) {
+        for (int i = 0; i < TRIANGLES; i++) {
+            blackhole.consume(Utils.getTriangleArea(first[i], second[i], third[i]));
+        }
+    }
+}
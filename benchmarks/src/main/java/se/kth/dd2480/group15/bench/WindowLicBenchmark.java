@@ -0,0 +1,70 @@
+package se.kth.dd2480.group15.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.kth.dd2480.group15.model.ArrayTrack;
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Benchmarks for the LICs that scan a sliding window of consecutive points, LIC 4 ({@code qPts})
+ * and LIC 6 ({@code nPts}). Their cost grows with the window size as well as with the track length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class WindowLicBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int numPoints;
+
+    @Param({"BEST", "WORST"})
+    private Scenario scenario;
+
+    @Param({"3", "30", "300"})
+    private int qPts;
+
+    @Param({"3", "30", "300"})
+    private int nPts;
+
+    private final LicEvaluator evaluator = new LicEvaluator();
+    private Track track;
+    private Parameters params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Copied once, so that the benchmarks measure the LICs rather than the copy
+        track = ArrayTrack.copyOf(scenario.points(numPoints), numPoints);
+        params = scenario.parameters()
+                .qPts(qPts)
+                .nPts(nPts)
+                .build();
+    }
+
+    @Benchmark
+    public boolean lic4() {
+        return evaluator.Lic4(track, params);
+    }
+
+    @Benchmark
+    public boolean lic6() {
+        return evaluator.Lic6(track, params);
+    }
+}
@@ -0,0 +1,125 @@
+package se.kth.dd2480.group15;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import se.kth.dd2480.group15.model.DecideContext;
+
+/**
+ * Decides many independent tracks in parallel on a work-stealing {@link ForkJoinPool}.
+ *
+ * <p>The requests are split by their estimated cost rather than their count: a range of
+ * requests is halved at the point where half of its data points lie on either side, until a
+ * range holds about {@value #LEAF_COST} cost units or a single request. A few huge tracks
+ * therefore end up in tasks of their own instead of straggling behind many small ones, and
+ * idle workers steal the remaining halves.</p>
+ *
+ * <p>Each worker decides with its own {@link DecideContext}, so the evaluators are created once
+ * per worker rather than once per request.</p>
+ */
+public final class BatchDecide {
+
+    /**
+     * The cost of a range of requests below which it is decided on one thread.
+     */
+    static final long LEAF_COST = 1 << 13;
+
+    /**
+     * The cost of a request besides its data points: evaluating PUM, FUV and LAUNCH.
+     */
+    private static final long REQUEST_COST = 64;
+
+    private BatchDecide() {
+    }
+
+    /**
+     * Decides all requests on the common pool.
+     *
+     * @param requests the decisions to make
+     * @return bit {@code i} set if request {@code i} should launch an interceptor
+     */
+    public static BitSet decideAll(List<DecideRequest> requests) {
+        return decideAll(requests, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decides all requests on the given pool.
+     *
+     * @param requests the decisions to make
+     * @param pool the pool to run on
+     * @return bit {@code i} set if request {@code i} should launch an interceptor
+     */
+    public static BitSet decideAll(List<DecideRequest> requests, ForkJoinPool pool) {
+        DecideRequest[] batch = requests.toArray(new DecideRequest[0]);
+        long[] costs = new long[batch.length + 1];
+        for (int i = 0; i < batch.length; i++) {
+            costs[i + 1] = costs[i] + batch[i].track().size() + REQUEST_COST;
+        }
+
+        AtomicLongArray launches = new AtomicLongArray((batch.length + Long.SIZE - 1) / Long.SIZE);
+        pool.invoke(new DecideTask(batch, costs, launches, 0, batch.length));
+
+        long[] words = new long[launches.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = launches.get(i);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    // Tasks are never serialized, so neither are the requests they hold
+    @SuppressWarnings("serial")
+    private static final class DecideTask extends RecursiveAction {
+        private final DecideRequest[] batch;
+
+        /**
+         * Prefix sums of the request costs: {@code costs[i]} is the cost of requests 0 to i - 1.
+         */
+        private final long[] costs;
+        private final AtomicLongArray launches;
+        private final int from;
+        private final int to;
+
+        DecideTask(DecideRequest[] batch, long[] costs, AtomicLongArray launches, int from, int to) {
+            this.batch = batch;
+            this.costs = costs;
+            this.launches = launches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && costs[to] - costs[from] > LEAF_COST) {
+                int mid = split();
+                invokeAll(new DecideTask(batch, costs, launches, from, mid),
+                          new DecideTask(batch, costs, launches, mid, to));
+                return;
+            }
+
+            DecideContext context = DecideContext.current();
+            for (int i = from; i < to; i++) {
+                DecideRequest request = batch[i];
+                if (context.launch(request.LCM(), request.PUV(), request.track(), request.params())) {
+                    launches.accumulateAndGet(i / Long.SIZE, 1L << i, (word, bit) -> word | bit);
+                }
+            }
+        }
+
+        /**
+         * Returns the index in {@code (from, to)} that best halves the cost of the range.
+         */
+        private int split() {
+            long half = costs[from] + (costs[to] - costs[from]) / 2;
+            int low = from + 1, high = to - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (costs[mid] < half) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package se.kth.dd2480.group15;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import se.kth.dd2480.group15.model.Evaluator;
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Decides whether to launch by evaluating the relevant LICs concurrently, one virtual thread per
+ * LIC, and stopping as soon as the LICs evaluated so far decide LAUNCH.
+ *
+ * <p>The LICs are submitted to a virtual-thread executor created for the call and collected in
+ * the order they complete. Every time one completes, the decision is checked against the partial
+ * CMV with {@link Evaluator#evaluateLAUNCH(PackedLcm, int, int, int)}. Once it no longer depends
+ * on the LICs still running, the executor is shut down, which interrupts them. They are evaluated
+ * by {@link LicEvaluator#interruptible()}, which checks for the interrupt between chunks of
+ * windows, so they stop within a chunk. Closing the executor waits for them, so no LIC thread
+ * outlives the call.</p>
+ *
+ * <p>A failing LIC is only noticed when its result is taken, in completion order, and the other
+ * LICs are then interrupted like any that are no longer needed.</p>
+ */
+public final class ConcurrentDecide {
+
+    /**
+     * The number of data points below which the LICs are evaluated one after the other by
+     * {@link Decide}. Smaller tracks are searched in a single chunk, which cannot be cancelled,
+     * and all 15 LICs take less time than starting the threads.
+     */
+    static final int MIN_POINTS = 1 << 13;
+
+    private ConcurrentDecide() {
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the LICs
+     */
+    public static String decide(PackedLcm LCM, int PUV, Track track, Parameters params) throws InterruptedException {
+        return launch(LCM, PUV, track, params) ? "YES" : "NO";
+    }
+
+    /**
+     * Decides whether to launch, as {@link #decide(PackedLcm, int, Track, Parameters)}.
+     *
+     * @return true if an interceptor should be launched
+     * @throws RuntimeException if a LIC failed before the decision was known
+     */
+    static boolean launch(PackedLcm LCM, int PUV, Track track, Parameters params) throws InterruptedException {
+        Evaluator evaluator = new Evaluator();
+        Boolean decision = evaluator.evaluateLAUNCH(LCM, 0, 0, PUV);
+        if (decision != null) return decision;
+        if (track.size() < MIN_POINTS) return Decide.launch(LCM, PUV, track, params);
+
+        // The LICs that some considered row connects to, including the row itself
+        int needed = 0;
+        for (int i = 0; i < 15; i++) {
+            int connected = LCM.andd(i) | LCM.orr(i);
+            if ((PUV & (1 << i)) != 0 && connected != 0) needed |= connected | 1 << i;
+        }
+
+        LicEvaluator lics = LicEvaluator.interruptible();
+        // Closing the executor waits for the interrupted LICs to return
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<LicResult> completed = new ExecutorCompletionService<>(executor);
+            for (int lic = 0; lic < 15; lic++) {
+                if ((needed & (1 << lic)) != 0) {
+                    int n = lic;
+                    completed.submit(() -> new LicResult(n, lics.evaluateLic(n, track, params)));
+                }
+            }
+
+            try {
+                int CMV = 0;
+                int known = 0;
+                while (known != needed) {
+                    LicResult result = result(completed.take());
+                    known |= 1 << result.lic();
+                    if (result.satisfied()) CMV |= 1 << result.lic();
+                    decision = evaluator.evaluateLAUNCH(LCM, CMV, known, PUV);
+                    if (decision != null) return decision;
+                }
+                throw new IllegalStateException("The LICs did not decide LAUNCH.");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a completed LIC.
+     *
+     * @throws RuntimeException if the LIC failed
+     */
+    private static LicResult result(Future<LicResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException("A LIC failed.", e.getCause());
+        }
+    }
+
+    /**
+     * The value of one CMV entry.
+     */
+    private record LicResult(int lic, boolean satisfied) {
+    }
+}
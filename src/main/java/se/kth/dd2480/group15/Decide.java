@@ -1,10 +1,15 @@
 package se.kth.dd2480.group15;
 
+import se.kth.dd2480.group15.model.ArrayTrack;
+import se.kth.dd2480.group15.model.CompiledPolicy;
 import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.DecideContext;
 import se.kth.dd2480.group15.model.Evaluator;
-import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.LazyCmv;
+import se.kth.dd2480.group15.model.PackedLcm;
 import se.kth.dd2480.group15.model.Parameters;
 import se.kth.dd2480.group15.model.Point;
+import se.kth.dd2480.group15.model.Track;
 import se.kth.dd2480.group15.utils.Utils;
 
 public class Decide {
@@ -38,24 +43,91 @@ public class Decide {
         System.out.println(decide(LCM, PUV, coords, params, numPoints));;
     }
 
+    /**
+     * Decides whether to launch for the given data points. The points are copied into an
+     * {@link ArrayTrack} once and evaluated by {@link #decide(Connectors[][], boolean[], Track, Parameters)}.
+     *
+     * @param LCM the Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector
+     * @param coords the data points
+     * @param params the parameters of the LICs
+     * @param numPoints the number of data points
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
     public static String decide(Connectors[][] LCM, boolean[] PUV, Point[] coords, Parameters params, int numPoints) {
-        // Conditions Met Vector
-        boolean[] CMV = new boolean[15];
-        LicEvaluator evaluator = new LicEvaluator();
-        CMV = evaluator.evaluateLics(numPoints, coords, params);
+        return decide(LCM, PUV, ArrayTrack.copyOf(coords, numPoints), params);
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track. The LCM and PUV are packed
+     * and evaluated by {@link #decide(PackedLcm, int, Track, Parameters)}.
+     *
+     * @param LCM the Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
+    public static String decide(Connectors[][] LCM, boolean[] PUV, Track track, Parameters params) {
+        return decide(PackedLcm.of(LCM), Utils.pack(PUV), track, params);
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track.
+     * The CMV is evaluated lazily: a LIC is only computed if the LCM and PUV make it relevant,
+     * and evaluation stops as soon as an FUV entry is false.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
+    public static String decide(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        return launch(LCM, PUV, track, params) ? "YES" : "NO";
+    }
 
-         // Preliminary Unlocking Matrix
-        boolean[][] PUM = new boolean[15][15];
-        Evaluator evaluator2 = new Evaluator();
-        PUM = evaluator2.evaluatePUM(LCM, CMV);
+    /**
+     * Decides whether to launch for the data points of a track, reusing the evaluators and CMV of
+     * a context. Once the context exists, a decision allocates nothing.
+     *
+     * @param context the context of the calling thread, see {@link DecideContext#current()}
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
+    public static String decide(DecideContext context, PackedLcm LCM, int PUV, Track track, Parameters params) {
+        return context.launch(LCM, PUV, track, params) ? "YES" : "NO";
+    }
 
-        // Final Unlocking Vector
-        boolean[] FUV = new boolean[15];
-        FUV = evaluator2.evaluateFUV(PUM, PUV);
+    /**
+     * Decides whether to launch, as {@link #decide(PackedLcm, int, Track, Parameters)}.
+     *
+     * @return true if an interceptor should be launched
+     */
+    static boolean launch(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        // Conditions Met Vector, evaluated on demand
+        LazyCmv CMV = new LazyCmv(track, params);
 
         // Decision: Launch or No Launch
-        boolean launch = evaluator2.evaluateLAUNCH(FUV);
+        Evaluator evaluator = new Evaluator();
+        return evaluator.evaluateLAUNCH(LCM, CMV, PUV);
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track using a compiled LCM and PUV.
+     * Only the LICs in the support of the policy are evaluated.
+     *
+     * @param policy the compiled LCM and PUV
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
+    public static String decide(CompiledPolicy policy, Track track, Parameters params) {
+        boolean launch = policy.launch(new LazyCmv(track, params));
 
         return launch ? "YES" : "NO";
     }
-}
\ No newline at end of file
+}
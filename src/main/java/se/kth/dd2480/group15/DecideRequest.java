@@ -0,0 +1,36 @@
+package se.kth.dd2480.group15;
+
+import se.kth.dd2480.group15.model.ArrayTrack;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Point;
+import se.kth.dd2480.group15.model.Track;
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * The inputs of one launch decision, for deciding many tracks at once with {@link BatchDecide}.
+ *
+ * @param LCM the packed Logical Connector Matrix
+ * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+ * @param track the data points
+ * @param params the parameters of the LICs
+ */
+public record DecideRequest(PackedLcm LCM, int PUV, Track track, Parameters params) {
+
+    /**
+     * Creates a request from the same inputs as
+     * {@link Decide#decide(Connectors[][], boolean[], Track, Parameters)}.
+     */
+    public static DecideRequest of(Connectors[][] LCM, boolean[] PUV, Track track, Parameters params) {
+        return new DecideRequest(PackedLcm.of(LCM), Utils.pack(PUV), track, params);
+    }
+
+    /**
+     * Creates a request from the same inputs as
+     * {@link Decide#decide(Connectors[][], boolean[], Point[], Parameters, int)}.
+     */
+    public static DecideRequest of(Connectors[][] LCM, boolean[] PUV, Point[] coords, Parameters params, int numPoints) {
+        return of(LCM, PUV, ArrayTrack.copyOf(coords, numPoints), params);
+    }
+}
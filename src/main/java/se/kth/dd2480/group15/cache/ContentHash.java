@@ -0,0 +1,84 @@
+package se.kth.dd2480.group15.cache;
+
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * A 128-bit hash of the content of decision inputs, computed as two independent 64-bit hashes
+ * in one pass. It depends only on the bits of the values added, so it is the same in every JVM
+ * and can be stored in files.
+ */
+final class ContentHash {
+
+    // Multipliers of the two hashes: odd, with well mixed bits
+    private static final long M1 = 0x9E3779B97F4A7C15L;
+    private static final long M2 = 0xC2B2AE3D27D4EB4FL;
+
+    private long hash1;
+    private long hash2;
+
+    /**
+     * Starts a hash of the data points of a track.
+     *
+     * @param track the data points
+     */
+    ContentHash(Track track) {
+        int size = track.size();
+        hash1 = size;
+        hash2 = ~size;
+        for (int i = 0; i < size; i++) {
+            add(Double.doubleToLongBits(track.x(i)), Double.doubleToLongBits(track.y(i)));
+        }
+    }
+
+    /**
+     * Adds all values of a parameter set.
+     *
+     * @param params the parameters of the LICs
+     * @return this hash
+     */
+    ContentHash add(Parameters params) {
+        add(Double.doubleToLongBits(params.length1()), Double.doubleToLongBits(params.radius1()));
+        add(Double.doubleToLongBits(params.epsilon()), Double.doubleToLongBits(params.area1()));
+        add(params.qPts(), params.quads());
+        add(Double.doubleToLongBits(params.dist()), params.nPts());
+        add(params.kPts(), params.aPts());
+        add(params.bPts(), params.cPts());
+        add(params.dPts(), params.ePts());
+        add(params.fPts(), params.gPts());
+        add(Double.doubleToLongBits(params.length2()), Double.doubleToLongBits(params.radius2()));
+        add(Double.doubleToLongBits(params.area2()), 0);
+        return this;
+    }
+
+    private void add(long a, long b) {
+        hash1 = Long.rotateLeft((hash1 ^ a) * M1, 29) ^ b;
+        hash2 = Long.rotateLeft((hash2 ^ b) * M2, 31) ^ a;
+    }
+
+    /**
+     * @return the first 64 bits of the hash
+     */
+    long first() {
+        return mix(hash1 * M2);
+    }
+
+    /**
+     * @return the last 64 bits of the hash
+     */
+    long second() {
+        return mix(hash2 * M1);
+    }
+
+    /**
+     * The finalizer of MurmurHash3, so that every input bit affects every output bit.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,133 @@
+package se.kth.dd2480.group15.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.kth.dd2480.group15.model.DecideContext;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * A bounded cache of launch decisions, for tracks that are decided again under the same LCM,
+ * PUV and parameters: retries, redundant consumers and replays.
+ *
+ * <p>A decision is keyed by the content of its inputs rather than by object identity. The track
+ * is reduced to its size and a 128-bit hash of the bits of its coordinates, which reads every
+ * point once instead of the several passes of the LICs; the parameters, LCM and PUV are compared
+ * by value. A hit returns the stored decision without evaluating any LIC. The track itself is
+ * not kept, so a cached decision costs a few dozen bytes whatever the size of its track.</p>
+ *
+ * <p>When the cache is full, the least recently used decision is evicted. The cache is
+ * thread-safe; decisions that miss are computed outside the lock, so two threads that miss on
+ * the same key at the same time both compute it.</p>
+ */
+public final class DecisionCache {
+
+    private final int capacity;
+    private final Map<Key, Boolean> decisions;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the largest number of decisions to keep
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public DecisionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.decisions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > DecisionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track, as
+     * {@link se.kth.dd2480.group15.Decide#decide(PackedLcm, int, Track, Parameters)}, returning
+     * the cached decision if the same inputs have been decided before.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
+    public String decide(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        return launch(LCM, PUV, track, params) ? "YES" : "NO";
+    }
+
+    /**
+     * Decides whether to launch, as {@link #decide(PackedLcm, int, Track, Parameters)}.
+     *
+     * @return true if an interceptor should be launched
+     */
+    public boolean launch(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        Key key = Key.of(LCM, PUV, track, params);
+        Boolean cached;
+        synchronized (decisions) {
+            cached = decisions.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        boolean launch = DecideContext.current().launch(LCM, PUV, track, params);
+        synchronized (decisions) {
+            decisions.put(key, launch);
+        }
+        return launch;
+    }
+
+    /**
+     * @return the number of decisions answered from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of decisions that had to be computed
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of decisions in the cache
+     */
+    public int size() {
+        synchronized (decisions) {
+            return decisions.size();
+        }
+    }
+
+    /**
+     * Removes all decisions. The hit and miss counts are kept.
+     */
+    public void clear() {
+        synchronized (decisions) {
+            decisions.clear();
+        }
+    }
+
+    /**
+     * The inputs of a decision, with the track replaced by its size and a hash of its coordinates.
+     */
+    record Key(int size, long hash1, long hash2, PackedLcm LCM, int PUV, Parameters params) {
+
+        static Key of(PackedLcm LCM, int PUV, Track track, Parameters params) {
+            ContentHash hash = new ContentHash(track);
+            return new Key(track.size(), hash.first(), hash.second(), LCM, PUV, params);
+        }
+    }
+}
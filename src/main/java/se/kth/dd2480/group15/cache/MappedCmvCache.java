@@ -0,0 +1,284 @@
+package se.kth.dd2480.group15.cache;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.kth.dd2480.group15.model.Evaluator;
+import se.kth.dd2480.group15.model.LazyCmv;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * A persistent cache of CMV entries, kept in a memory-mapped file, for jobs that restart and
+ * decide the same archived tracks again.
+ *
+ * <p>An entry is keyed by a 128-bit hash of the track and the parameters, and holds the CMV
+ * entries evaluated for them so far together with a mask of which ones are known. The LCM and
+ * PUV are not part of the key: the decision is derived from the stored entries with
+ * {@link Evaluator#evaluateLAUNCH(PackedLcm, int, int, int)}, so one entry serves every policy
+ * the track is decided under. A decision is a hit when the stored entries decide LAUNCH;
+ * otherwise the missing LICs are evaluated, lazily as in {@link Evaluator}, and added to the
+ * entry.</p>
+ *
+ * <p>All values are little-endian. The file starts with a {@value #HEADER_SIZE} byte header:</p>
+ * <ul>
+ *     <li>bytes 0-3: the magic number {@code "DCC1"}</li>
+ *     <li>bytes 4-7: the format version, currently {@value #VERSION}</li>
+ *     <li>bytes 8-11: the number of slots, a power of two</li>
+ *     <li>bytes 12-31: reserved, zero</li>
+ * </ul>
+ * <p>It is followed by an open-addressing hash table of {@value #SLOT_SIZE} byte slots, each the
+ * two halves of the hash followed by the CMV entries in bits 0-14 and the known mask in bits
+ * 16-30. An empty slot has a zero first half, and a slot whose key is being written has a first
+ * half of {@value #RESERVED}; no key has either as its first half.</p>
+ *
+ * <p>Several processes may use the same file at the same time. A slot is claimed by a
+ * compare-and-set of its first half from zero to {@value #RESERVED}; the claimer then writes the
+ * second half and only then the first, so the whole key becomes visible at once. A caller that
+ * finds a reserved slot while claiming waits for its key before comparing it, so two callers
+ * with the same key end up in the same slot. Entries are added with an atomic OR, so no lock is
+ * held while deciding. A process that dies while it holds a reservation leaves the slot
+ * reserved, and it is skipped like a slot of another key. The table has a fixed size and entries
+ * are never evicted: once the probes for a key find no free slot, its CMV entries are simply not
+ * stored.</p>
+ */
+public final class MappedCmvCache implements AutoCloseable {
+
+    /**
+     * "DCC1" read as a little-endian int.
+     */
+    static final int MAGIC = 0x31434344;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int SLOT_SIZE = 24;
+
+    /**
+     * The number of slots searched for a key before giving up.
+     */
+    static final int MAX_PROBES = 32;
+
+    /**
+     * The first half of the hash of a slot whose key is being written.
+     */
+    static final long RESERVED = -1;
+
+    /**
+     * The number of times a reserved slot is read again while claiming before it is skipped.
+     * Writing a key takes a few instructions, so a slot that stays reserved this long belongs to
+     * a process that is descheduled or has died.
+     */
+    private static final int MAX_SPINS = 1 << 16;
+
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final ByteBuffer table;
+    private final int mask;
+    private final Evaluator evaluator = new Evaluator();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private MappedCmvCache(Arena arena, ByteBuffer table, int slots) {
+        this.arena = arena;
+        this.table = table;
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Opens a cache file, creating it if it does not exist.
+     *
+     * @param path the cache file
+     * @param slots the number of slots of a new file; an existing file keeps its own
+     * @return the cache, which must be closed to unmap the file
+     * @throws IllegalArgumentException if the number of slots is not a positive power of two
+     * @throws IOException if the file cannot be opened or is not a valid cache file
+     */
+    public static MappedCmvCache open(Path path, int slots) throws IOException {
+        if (!isValid(slots)) {
+            throw new IllegalArgumentException("The number of slots must be a power of two, not " + slots + ".");
+        }
+
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MemorySegment file;
+            FileLock lock = channel.lock();
+            try {
+                if (channel.size() == 0) {
+                    file = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE, arena);
+                    ByteBuffer header = file.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+                    header.putInt(4, VERSION);
+                    header.putInt(8, slots);
+                    header.putInt(0, MAGIC);
+                    file.force();
+                } else {
+                    file = map(path, channel, arena);
+                }
+            } finally {
+                lock.release();
+            }
+
+            ByteBuffer table = file.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedCmvCache(arena, table, table.getInt(8));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private static boolean isValid(int slots) {
+        return slots > 0 && Integer.bitCount(slots) == 1 && slots <= (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+    }
+
+    private static MemorySegment map(Path path, FileChannel channel, Arena arena) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE) {
+            throw new IOException("Not a CMV cache file: " + path);
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a CMV cache file: " + path);
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported CMV cache file version " + header.getInt(4) + ": " + path);
+        }
+        int slots = header.getInt(8);
+        if (!isValid(slots) || fileSize < HEADER_SIZE + (long) slots * SLOT_SIZE) {
+            throw new IOException("Corrupt CMV cache file header: " + path);
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE, arena);
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track, as
+     * {@link se.kth.dd2480.group15.Decide#decide(PackedLcm, int, Track, Parameters)}, using the
+     * CMV entries stored for the same track and parameters.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     * @throws IllegalStateException if the cache is closed
+     */
+    public String decide(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        return launch(LCM, PUV, track, params) ? "YES" : "NO";
+    }
+
+    /**
+     * Decides whether to launch, as {@link #decide(PackedLcm, int, Track, Parameters)}.
+     *
+     * @return true if an interceptor should be launched
+     */
+    public boolean launch(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        ContentHash hash = new ContentHash(track).add(params);
+        long hash1 = firstHalf(hash.first());
+        long hash2 = hash.second();
+
+        int slot = find(hash1, hash2);
+        long entry = slot < 0 ? 0 : (long) LONG.getVolatile(table, value(slot));
+        int CMV = (int) entry & Evaluator.ALL;
+        int known = (int) (entry >>> 16) & Evaluator.ALL;
+        Boolean decision = evaluator.evaluateLAUNCH(LCM, CMV, known, PUV);
+        if (decision != null) {
+            hits.increment();
+            return decision;
+        }
+
+        misses.increment();
+        LazyCmv lazy = new LazyCmv(track, params, CMV, known);
+        boolean launch = evaluator.evaluateLAUNCH(LCM, lazy, PUV);
+        if (lazy.evaluated() != known) {
+            if (slot < 0) slot = claim(hash1, hash2);
+            if (slot >= 0) LONG.getAndBitwiseOr(table, value(slot), (long) lazy.evaluated() << 16 | lazy.values());
+        }
+        return launch;
+    }
+
+    /**
+     * @return the slot holding the key, or -1 if it is not in the table
+     */
+    private int find(long hash1, long hash2) {
+        for (int probe = 0, slot = (int) hash1 & mask; probe < MAX_PROBES && probe <= mask; probe++, slot = (slot + 1) & mask) {
+            long first = (long) LONG.getVolatile(table, offset(slot));
+            if (first == 0) return -1;
+            // A reserved slot is not readable yet; if it is being given this key, the key is missed once
+            if (first == hash1 && (long) LONG.getVolatile(table, offset(slot) + 8) == hash2) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot holding the key, claiming a free one if it is not in the table.
+     *
+     * @return the slot, or -1 if every probed slot holds another key
+     */
+    private int claim(long hash1, long hash2) {
+        for (int probe = 0, slot = (int) hash1 & mask; probe < MAX_PROBES && probe <= mask; probe++, slot = (slot + 1) & mask) {
+            long first = (long) LONG.getVolatile(table, offset(slot));
+            if (first == 0) {
+                if (LONG.compareAndSet(table, offset(slot), 0L, RESERVED)) {
+                    // The volatile write of the first half publishes the second
+                    LONG.set(table, offset(slot) + 8, hash2);
+                    LONG.setVolatile(table, offset(slot), hash1);
+                    return slot;
+                }
+                first = (long) LONG.getVolatile(table, offset(slot));
+            }
+            for (int spin = 0; first == RESERVED && spin < MAX_SPINS; spin++) {
+                Thread.onSpinWait();
+                first = (long) LONG.getVolatile(table, offset(slot));
+            }
+            if (first == hash1 && (long) LONG.getVolatile(table, offset(slot) + 8) == hash2) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Maps the first half of a hash away from the values that mark empty and reserved slots.
+     */
+    private static long firstHalf(long hash) {
+        return hash == 0 || hash == RESERVED ? 1 : hash;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int value(int slot) {
+        return offset(slot) + 16;
+    }
+
+    /**
+     * @return the number of decisions made from the stored CMV entries alone
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of decisions that had to evaluate LICs
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Unmaps the file. The entries stay in the file for the next time it is opened.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,90 @@
+package se.kth.dd2480.group15.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.kth.dd2480.group15.model.DecideContext;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Decides identical requests that arrive at the same time only once.
+ *
+ * <p>Requests are keyed by their content, as in {@link DecisionCache}. The first caller with a
+ * key registers a future for it and decides; callers that arrive with the same key while it is
+ * deciding wait for that future instead of evaluating the LICs again. Once the decision is made
+ * the key is removed, so unlike {@link DecisionCache} nothing is kept: a request that arrives
+ * after the decision is decided again.</p>
+ *
+ * <p>If the first caller fails, every caller waiting for it fails with the same exception.</p>
+ */
+public final class SingleFlightDecide {
+
+    private final ConcurrentHashMap<DecisionCache.Key, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Decides whether to launch for the data points of a track, as
+     * {@link se.kth.dd2480.group15.Decide#decide(PackedLcm, int, Track, Parameters)}, sharing the
+     * decision with identical requests that are being decided at the same time.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return "YES" if an interceptor should be launched, "NO" otherwise
+     */
+    public String decide(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        return launch(LCM, PUV, track, params) ? "YES" : "NO";
+    }
+
+    /**
+     * Decides whether to launch, as {@link #decide(PackedLcm, int, Track, Parameters)}.
+     *
+     * @return true if an interceptor should be launched
+     */
+    public boolean launch(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        DecisionCache.Key key = DecisionCache.Key.of(LCM, PUV, track, params);
+        CompletableFuture<Boolean> decision = new CompletableFuture<>();
+        CompletableFuture<Boolean> first = inFlight.putIfAbsent(key, decision);
+        if (first != null) {
+            coalesced.increment();
+            try {
+                return first.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        computed.increment();
+        try {
+            boolean launch = DecideContext.current().launch(LCM, PUV, track, params);
+            decision.complete(launch);
+            return launch;
+        } catch (RuntimeException | Error e) {
+            decision.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, decision);
+        }
+    }
+
+    /**
+     * @return the number of requests that were decided
+     */
+    public long computed() {
+        return computed.sum();
+    }
+
+    /**
+     * @return the number of requests that waited for an identical request instead
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+}
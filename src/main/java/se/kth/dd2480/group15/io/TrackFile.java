@@ -0,0 +1,136 @@
+package se.kth.dd2480.group15.io;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import se.kth.dd2480.group15.model.OffHeapTrack;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Reads and writes tracks in a compact binary file format that can be memory-mapped and
+ * evaluated in place.
+ *
+ * <p>All values are little-endian. The file starts with a {@value #HEADER_SIZE} byte header:</p>
+ * <ul>
+ *     <li>bytes 0-3: the magic number {@code "TRK1"}</li>
+ *     <li>bytes 4-7: the format version, currently {@value #VERSION}</li>
+ *     <li>bytes 8-11: the {@link Layout} of the coordinates, as its ordinal</li>
+ *     <li>bytes 12-15: reserved, zero</li>
+ *     <li>bytes 16-23: the number of data points {@code n}</li>
+ * </ul>
+ * <p>It is followed by {@code 2 * n} {@code double}s, either interleaved as
+ * {@code x0 y0 x1 y1 ...} or columnar as {@code x0 x1 ... y0 y1 ...}.</p>
+ */
+public final class TrackFile {
+
+    /**
+     * How the coordinates are arranged after the header.
+     */
+    public enum Layout {
+        /**
+         * {@code x0 y0 x1 y1 ...}: each data point is stored in 16 consecutive bytes.
+         */
+        INTERLEAVED,
+
+        /**
+         * {@code x0 x1 ... y0 y1 ...}: all x-coordinates followed by all y-coordinates.
+         */
+        COLUMNAR
+    }
+
+    /**
+     * "TRK1" read as a little-endian int.
+     */
+    static final int MAGIC = 0x314B5254;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private TrackFile() {
+    }
+
+    /**
+     * Memory-maps a track file. The returned track reads the coordinates straight from the
+     * mapped file: nothing is parsed or copied, so the cost of evaluating the LICs is bounded by
+     * how fast the pages can be read. The mapping stays valid until the arena is closed.
+     *
+     * @param path the track file
+     * @param arena the arena that owns the mapping
+     * @return a read-only track over the mapped file
+     * @throws IOException if the file cannot be read or is not a valid track file
+     */
+    public static Track map(Path path, Arena arena) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a track file: " + path);
+            }
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize, arena);
+
+            if (file.get(INT, 0) != MAGIC) {
+                throw new IOException("Not a track file: " + path);
+            }
+            if (file.get(INT, 4) != VERSION) {
+                throw new IOException("Unsupported track file version " + file.get(INT, 4) + ": " + path);
+            }
+            int layout = file.get(INT, 8);
+            long numPoints = file.get(LONG, 16);
+            if (layout < 0 || layout >= Layout.values().length || numPoints < 0 || numPoints > Integer.MAX_VALUE
+                    || fileSize < HEADER_SIZE + 2 * numPoints * DOUBLE.byteSize()) {
+                throw new IOException("Corrupt track file header: " + path);
+            }
+
+            return wrap(file, Layout.values()[layout], (int) numPoints);
+        }
+    }
+
+    /**
+     * Writes a track to a file, replacing any existing file.
+     *
+     * @param path the file to write
+     * @param track the data points to write
+     * @param layout how to arrange the coordinates
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, Track track, Layout layout) throws IOException {
+        int numPoints = track.size();
+        long fileSize = HEADER_SIZE + 2 * numPoints * DOUBLE.byteSize();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize, arena);
+
+            file.set(INT, 0, MAGIC);
+            file.set(INT, 4, VERSION);
+            file.set(INT, 8, layout.ordinal());
+            file.set(INT, 12, 0);
+            file.set(LONG, 16, numPoints);
+
+            OffHeapTrack target = wrap(file, layout, numPoints);
+            for (int i = 0; i < numPoints; i++) {
+                target.set(i, track.x(i), track.y(i));
+            }
+            file.force();
+        }
+    }
+
+    private static OffHeapTrack wrap(MemorySegment file, Layout layout, int numPoints) {
+        long coordinateSize = DOUBLE.byteSize();
+        return switch (layout) {
+            case INTERLEAVED -> OffHeapTrack.wrap(file, numPoints, HEADER_SIZE, HEADER_SIZE + coordinateSize,
+                    2 * coordinateSize);
+            case COLUMNAR -> OffHeapTrack.wrap(file, numPoints, HEADER_SIZE, HEADER_SIZE + numPoints * coordinateSize,
+                    coordinateSize);
+        };
+    }
+}
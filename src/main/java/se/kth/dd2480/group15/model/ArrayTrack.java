@@ -0,0 +1,73 @@
+package se.kth.dd2480.group15.model;
+
+/**
+ * A {@link Track} backed by two parallel {@code double} arrays, one per coordinate
+ * (structure of arrays).
+ */
+public final class ArrayTrack implements Track {
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Creates a track backed by the given coordinate arrays. The arrays are not copied.
+     *
+     * @param xs the x-coordinates of the data points
+     * @param ys the y-coordinates of the data points, same length as {@code xs}
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public ArrayTrack(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length.");
+        }
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Copies the coordinates of the first {@code numPoints} points of an array into a new track.
+     * A negative {@code numPoints} yields an empty track.
+     *
+     * @param points an array of data points
+     * @param numPoints the number of data points to copy
+     * @return a track holding the copied coordinates
+     */
+    public static ArrayTrack copyOf(Point[] points, int numPoints) {
+        int size = Math.max(numPoints, 0);
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = points[i].x();
+            ys[i] = points[i].y();
+        }
+        return new ArrayTrack(xs, ys);
+    }
+
+    @Override
+    public int size() {
+        return xs.length;
+    }
+
+    @Override
+    public double x(int i) {
+        return xs[i];
+    }
+
+    @Override
+    public double y(int i) {
+        return ys[i];
+    }
+
+    /**
+     * @return the backing array of x-coordinates (not a copy)
+     */
+    public double[] xs() {
+        return xs;
+    }
+
+    /**
+     * @return the backing array of y-coordinates (not a copy)
+     */
+    public double[] ys() {
+        return ys;
+    }
+}
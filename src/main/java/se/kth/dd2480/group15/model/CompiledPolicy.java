@@ -0,0 +1,100 @@
+package se.kth.dd2480.group15.model;
+
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * An LCM and PUV compiled into a lookup table from CMV to LAUNCH.
+ *
+ * <p>A CMV has only 15 entries, so the decision for every possible CMV fits in a bitmap of
+ * 2<sup>15</sup> bits (4 KB). Compiling evaluates the PUM, FUV and LAUNCH once for each CMV;
+ * afterwards a decision is a single bit lookup. Worth it whenever the same LCM and PUV are used
+ * for many decisions.</p>
+ *
+ * <p>The policy also knows its {@linkplain #support() support}: the LICs whose value can change
+ * the decision. The other LICs never need to be evaluated. Instances are immutable.</p>
+ */
+public final class CompiledPolicy {
+    private static final int NUM_CMVS = 1 << 15;
+
+    private final long[] launch = new long[NUM_CMVS / Long.SIZE];
+    private final int support;
+
+    private CompiledPolicy(PackedLcm LCM, int PUV) {
+        Evaluator evaluator = new Evaluator();
+        for (int CMV = 0; CMV < NUM_CMVS; CMV++) {
+            if (evaluator.evaluateLAUNCH(evaluator.evaluateFUV(LCM, CMV, PUV))) {
+                launch[CMV >>> 6] |= 1L << CMV;
+            }
+        }
+
+        int support = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            int bit = 1 << lic;
+            for (int CMV = 0; CMV < NUM_CMVS; CMV++) {
+                if ((CMV & bit) == 0 && launch(CMV) != launch(CMV | bit)) {
+                    support |= bit;
+                    break;
+                }
+            }
+        }
+        this.support = support;
+    }
+
+    /**
+     * Compiles a packed LCM and PUV.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @return the compiled policy
+     */
+    public static CompiledPolicy compile(PackedLcm LCM, int PUV) {
+        return new CompiledPolicy(LCM, PUV);
+    }
+
+    /**
+     * Compiles an LCM and PUV.
+     *
+     * @param LCM the Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector
+     * @return the compiled policy
+     */
+    public static CompiledPolicy compile(Connectors[][] LCM, boolean[] PUV) {
+        return compile(PackedLcm.of(LCM), Utils.pack(PUV));
+    }
+
+    /**
+     * Looks up the decision for a CMV.
+     *
+     * @param CMV the Conditions Met Vector, bit i set if LIC i is true
+     * @return whether to launch
+     */
+    public boolean launch(int CMV) {
+        return (launch[(CMV & Evaluator.ALL) >>> 6] & (1L << CMV)) != 0;
+    }
+
+    /**
+     * Decides from a lazily evaluated CMV, evaluating only the LICs in the support.
+     *
+     * @param CMV the lazily evaluated Conditions Met Vector
+     * @return whether to launch
+     */
+    public boolean launch(LazyCmv CMV) {
+        int bits = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            if ((support & (1 << lic)) != 0 && CMV.get(lic)) {
+                bits |= 1 << lic;
+            }
+        }
+        return launch(bits);
+    }
+
+    /**
+     * Returns the LICs that matter: LIC i is in the support if there are two CMVs that differ
+     * only in entry i and lead to different decisions.
+     *
+     * @return the support, bit i set if LIC i matters
+     */
+    public int support() {
+        return support;
+    }
+}
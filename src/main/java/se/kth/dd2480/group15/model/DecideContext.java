@@ -0,0 +1,72 @@
+package se.kth.dd2480.group15.model;
+
+/**
+ * The evaluators and CMV of one launch decision, kept between decisions so that deciding
+ * allocates nothing once the context exists.
+ *
+ * <p>Each decision otherwise creates a {@link LicEvaluator}, an {@link Evaluator} and a
+ * {@link LazyCmv}. A context creates them once and clears the CMV before each decision. It also
+ * keeps the storage of the hulls that LIC 6 builds for windows of
+ * {@value HullTree#MIN_WINDOW} points or more, and rebuilds them in place for each decision, so a
+ * steady stream of decisions on tracks of the same size allocates nothing.</p>
+ *
+ * <p>That holds once the JIT has compiled the LICs. Until then, the {@link VectorKernels} that
+ * evaluate tracks backed by arrays are interpreted and allocate an object per vector
+ * operation.</p>
+ *
+ * <p>Instances are not thread-safe. Use one per thread, for example the one returned by
+ * {@link #current()}.</p>
+ */
+public final class DecideContext {
+
+    private static final ThreadLocal<DecideContext> CURRENT = ThreadLocal.withInitial(DecideContext::new);
+
+    private final LicEvaluator lics = LicEvaluator.confined();
+    private final Evaluator evaluator = new Evaluator();
+    private final LazyCmv CMV = new LazyCmv(this::evaluateLic);
+    private Track track;
+    private Parameters params;
+
+    /**
+     * Creates a context for decisions on the calling thread.
+     */
+    public DecideContext() {
+    }
+
+    /**
+     * Returns the context of the calling thread, creating it on first use.
+     *
+     * @return the context of the calling thread
+     */
+    public static DecideContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Decides whether to launch for the data points of a track, evaluating the CMV lazily as
+     * {@link Evaluator#evaluateLAUNCH(PackedLcm, LazyCmv, int)} does.
+     *
+     * @param LCM the packed Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector, bit i set if LIC i is considered
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @return true if an interceptor should be launched
+     */
+    public boolean launch(PackedLcm LCM, int PUV, Track track, Parameters params) {
+        this.track = track;
+        this.params = params;
+        CMV.clear();
+        try {
+            return evaluator.evaluateLAUNCH(LCM, CMV, PUV);
+        } finally {
+            // Do not keep the track of the last decision reachable
+            this.track = null;
+            this.params = null;
+            lics.release();
+        }
+    }
+
+    private boolean evaluateLic(int lic) {
+        return lics.evaluateLic(lic, track, params);
+    }
+}
@@ -6,6 +6,11 @@ public class Evaluator {
 
     public static final double PI = 3.1415926535;
 
+    /**
+     * A packed vector or PUM row with all 15 entries set.
+     */
+    public static final int ALL = (1 << 15) - 1;
+
     /**
      * Compute the Preliminary Unlocking Matrix (PUM) array value based on the Logical Connector Matrix (LCM) and the Conditions Met Vector (CMV).
      * PUM[i,j] is set according to the result of this operation.
@@ -18,23 +23,33 @@ public class Evaluator {
      * @return A 2D boolean array representing the Preliminary Unlocking Matrix (PUM), where PUM[i][j] is determined based on LCM[i][j] and CMV.
      */
     public boolean[][] evaluatePUM(Connectors[][] LCM, boolean[] CMV) {
+        PackedLcm packedLCM = PackedLcm.of(LCM);
+        int packedCMV = Utils.pack(CMV);
 
-        boolean[][] PUM = new boolean[15][15];  
+        boolean[][] PUM = new boolean[15][];
         for(int i=0; i<15; i++){
-            for(int j=0; j<15; j++){
-                if(LCM[i][j] == Connectors.ANDD)
-                    PUM[i][j] = CMV[i] && CMV[j];
-                else if(LCM[i][j] == Connectors.ORR)
-                    PUM[i][j] = CMV[i] || CMV[j];
-
-                else if(LCM[i][j] == Connectors.NOTUSED){
-                    PUM[i][j] = true;
-                }
-            }
+            PUM[i] = Utils.unpack(evaluatePUM(packedLCM, packedCMV, i), 15);
         }
 
         return PUM;
-    }   
+    }
+
+    /**
+     * Compute row i of the Preliminary Unlocking Matrix (PUM) from a packed LCM and CMV.
+     * Bit j of the result is PUM[i,j]: for ANDD columns it is set if both CMV[i] and CMV[j] are,
+     * for ORR columns if either of them is, and for NOTUSED columns it is always set.
+     *
+     * @param LCM       The packed Logical Connector Matrix.
+     * @param CMV       The Conditions Met Vector, bit j set if LIC j is true.
+     * @param i         The row to compute.
+     * @return Row i of the PUM, bit j set if PUM[i][j] is true.
+     */
+    public int evaluatePUM(PackedLcm LCM, int CMV, int i) {
+        boolean cmvI = (CMV & (1 << i)) != 0;
+        int andd = cmvI ? LCM.andd(i) & CMV : 0;
+        int orr = cmvI ? LCM.orr(i) : LCM.orr(i) & CMV;
+        return andd | orr | LCM.notUsed(i);
+    }
 
     /**
      * Compute the Final Unlocking Vector (FUV) based on the Preliminary Unlocking Matrix (PUM) and the Preliminary Unlocking Vector (PUV).
@@ -65,4 +80,144 @@ public class Evaluator {
     public boolean evaluateLAUNCH(boolean[] FUV) {
         return Utils.allTrue(FUV);  
     }
-}
\ No newline at end of file
+
+    /**
+     * Compute the Final Unlocking Vector (FUV) from a packed LCM, CMV and PUV.
+     * FUV[i] is set if PUV[i] is not set or if all 15 bits of PUM row i are set.
+     *
+     * @param LCM       The packed Logical Connector Matrix.
+     * @param CMV       The Conditions Met Vector, bit j set if LIC j is true.
+     * @param PUV       The Preliminary Unlocking Vector, bit i set if LIC i is considered.
+     * @return The FUV, bit i set if FUV[i] is true.
+     */
+    public int evaluateFUV(PackedLcm LCM, int CMV, int PUV) {
+        int FUV = ~PUV & ALL;
+        for(int i=0; i<15; i++){
+            if((PUV & (1 << i)) != 0 && evaluatePUM(LCM, CMV, i) == ALL)
+                FUV |= 1 << i;
+        }
+        return FUV;
+    }
+
+    /**
+     * Determine whether to launch based on a packed Final Unlocking Vector (FUV).
+     *
+     * @param FUV   The FUV, bit i set if FUV[i] is true.
+     * @return A boolean indicating whether to launch (true) or not (false).
+     */
+    public boolean evaluateLAUNCH(int FUV) {
+        return FUV == ALL;
+    }
+
+    /**
+     * Determine whether to launch from a partially known CMV, if the known entries already decide it.
+     * Setting a CMV entry can only set PUM and FUV entries, never clear them, so LAUNCH with every
+     * unknown entry false is a lower bound and LAUNCH with every unknown entry true an upper bound.
+     * If the two agree, no value of the unknown entries can change the decision.
+     *
+     * @param LCM       The packed Logical Connector Matrix.
+     * @param CMV       The Conditions Met Vector, bit j set if LIC j is known and true.
+     * @param known     The CMV entries that are known, bit j set if LIC j is evaluated.
+     * @param PUV       The Preliminary Unlocking Vector, bit i set if LIC i is considered.
+     * @return The decision if the known entries decide it, or {@code null} if it depends on an unknown entry.
+     */
+    public Boolean evaluateLAUNCH(PackedLcm LCM, int CMV, int known, int PUV) {
+        boolean lower = evaluateLAUNCH(evaluateFUV(LCM, CMV & known, PUV));
+        boolean upper = evaluateLAUNCH(evaluateFUV(LCM, CMV | (~known & ALL), PUV));
+        return lower == upper ? lower : null;
+    }
+
+    /**
+     * Compute a single PUM entry, PUM[i,j], evaluating only the CMV entries needed.
+     * For ANDD and ORR connectors the cheaper LIC is asked for first, so the other one is skipped
+     * whenever the first one already decides the entry.
+     *
+     * @param LCM       A 2D connector array defining the logical connectors between LICs.
+     * @param CMV       The lazily evaluated Conditions Met Vector.
+     * @param i         The row of the entry.
+     * @param j         The column of the entry.
+     * @return The value of PUM[i][j], as {@link #evaluatePUM(Connectors[][], boolean[])} would compute it.
+     */
+    public boolean evaluatePUM(Connectors[][] LCM, LazyCmv CMV, int i, int j) {
+        int first = CMV.isCheaper(i, j) ? i : j;
+        int second = first == i ? j : i;
+
+        if (LCM[i][j] == Connectors.ANDD)
+            return CMV.get(first) && CMV.get(second);
+        else if (LCM[i][j] == Connectors.ORR)
+            return CMV.get(first) || CMV.get(second);
+        else
+            return LCM[i][j] == Connectors.NOTUSED;
+    }
+
+    /**
+     * Compute a single FUV entry, FUV[i], evaluating only the CMV entries needed.
+     * Nothing is evaluated if PUV[i] is not set or row i has a missing connector. Otherwise the
+     * ANDD columns need CMV[i] and every CMV[j] they connect to, which are evaluated cheapest
+     * first until one is false, and the ORR columns need CMV[i] or every CMV[j] they connect to.
+     *
+     * @param LCM       The packed Logical Connector Matrix.
+     * @param CMV       The lazily evaluated Conditions Met Vector.
+     * @param PUV       The Preliminary Unlocking Vector, bit i set if LIC i is considered.
+     * @param i         The index of the entry.
+     * @return The value of FUV[i].
+     */
+    public boolean evaluateFUV(PackedLcm LCM, LazyCmv CMV, int PUV, int i) {
+        if ((PUV & (1 << i)) == 0)
+            return true;
+        if ((LCM.andd(i) | LCM.orr(i) | LCM.notUsed(i)) != ALL)
+            return false;
+        if (LCM.andd(i) != 0 && !CMV.allTrue(LCM.andd(i) | 1 << i))
+            return false;
+        return LCM.orr(i) == 0 || CMV.get(i) || CMV.allTrue(LCM.orr(i));
+    }
+
+    /**
+     * Determine whether to launch by evaluating the FUV entry by entry, pulling CMV entries on demand.
+     * The decision is NO as soon as one FUV entry is false, without evaluating the remaining LICs.
+     *
+     * @param LCM       The packed Logical Connector Matrix.
+     * @param CMV       The lazily evaluated Conditions Met Vector.
+     * @param PUV       The Preliminary Unlocking Vector, bit i set if LIC i is considered.
+     * @return A boolean indicating whether to launch (true) or not (false).
+     */
+    public boolean evaluateLAUNCH(PackedLcm LCM, LazyCmv CMV, int PUV) {
+        // A considered row with a missing connector is false whatever the CMV is.
+        for (int i = 0; i < 15; i++) {
+            if ((PUV & (1 << i)) != 0 && (LCM.andd(i) | LCM.orr(i) | LCM.notUsed(i)) != ALL)
+                return false;
+        }
+        for (int i = 0; i < 15; i++) {
+            if (!evaluateFUV(LCM, CMV, PUV, i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compute a single FUV entry, FUV[i], evaluating only the CMV entries needed.
+     * Adapter for {@link #evaluateFUV(PackedLcm, LazyCmv, int, int)}.
+     *
+     * @param LCM       A 2D connector array defining the logical connectors between LICs.
+     * @param CMV       The lazily evaluated Conditions Met Vector.
+     * @param PUV       A boolean array representing the Preliminary Unlocking Vector (PUV).
+     * @param i         The index of the entry.
+     * @return The value of FUV[i].
+     */
+    public boolean evaluateFUV(Connectors[][] LCM, LazyCmv CMV, boolean[] PUV, int i) {
+        return evaluateFUV(PackedLcm.of(LCM), CMV, Utils.pack(PUV), i);
+    }
+
+    /**
+     * Determine whether to launch, pulling CMV entries on demand.
+     * Adapter for {@link #evaluateLAUNCH(PackedLcm, LazyCmv, int)}.
+     *
+     * @param LCM       A 2D connector array defining the logical connectors between LICs.
+     * @param CMV       The lazily evaluated Conditions Met Vector.
+     * @param PUV       A boolean array representing the Preliminary Unlocking Vector (PUV).
+     * @return A boolean indicating whether to launch (true) or not (false).
+     */
+    public boolean evaluateLAUNCH(Connectors[][] LCM, LazyCmv CMV, boolean[] PUV) {
+        return evaluateLAUNCH(PackedLcm.of(LCM), CMV, Utils.pack(PUV));
+    }
+}
@@ -0,0 +1,488 @@
+package se.kth.dd2480.group15.model;
+
+import java.util.Arrays;
+
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * Answers the windows of LIC 6 for large {@code nPts} in polylogarithmic time per window,
+ * instead of measuring all {@code nPts - 2} points of each window.
+ *
+ * <p>The distance LIC 6 measures from the line through the first and last point of a window is
+ * the absolute value of a linear function of the point, so the farthest point is a vertex of the
+ * convex hull of the points in between; if the first and last point coincide, the farthest point
+ * from them is a hull vertex as well. The track is cut into blocks of {@value #BLOCK} points, and
+ * aligned runs of 1, 2, 4, ... blocks, up to the window length, are nodes that keep the convex
+ * hull of their points as a lower and an upper chain sorted by x. The hull of a node is built
+ * from the hulls of its two halves. A window is covered by O(log nPts) nodes and at most
+ * {@code 2 * (BLOCK - 1)} single points. Along a chain a linear function rises and then falls,
+ * or the other way round, so the extremes on a long chain are found by binary search.</p>
+ *
+ * <p>Hull vertices are data points, and each candidate is measured with exactly the arithmetic of
+ * {@link LicEvaluator#Lic6(Track, Parameters)}, so a candidate that is too far away is a witness.
+ * Rounding while building the hulls and measuring can hide a point that is slightly further away
+ * than the farthest candidate, by far less than {@link #margin}; a window whose farthest
+ * candidate is that close to DIST is checked point by point instead. The results are therefore
+ * always those of {@code Lic6}.</p>
+ *
+ * <p>The coordinates are read through the {@link Track}, so hulls over an off-heap or mapped track
+ * do not copy it to the heap. The hulls take up to two ints per data point and level,
+ * {@code log2(nPts / BLOCK) + 1} levels, and at most {@link #MAX_VERTICES} ints in all: levels
+ * that do not fit are not built, so windows are covered by more, smaller nodes, and if the lowest
+ * level does not fit, the windows are scanned instead. The storage is kept when the tree is
+ * built again, for another track or the same one, so rebuilding a tree of the same size
+ * allocates nothing.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+final class HullTree {
+
+    /**
+     * The smallest {@code nPts} for which {@link LicEvaluator#Lic6(Track, Parameters)} builds a
+     * tree; smaller windows are cheaper to scan.
+     */
+    static final int MIN_WINDOW = 256;
+
+    /**
+     * The number of points per leaf node.
+     */
+    private static final int BLOCK = 32;
+
+    /**
+     * The number of vertices up to which a chain is measured entirely instead of searched.
+     */
+    private static final int SHORT_CHAIN = 16;
+
+    /**
+     * The rounding error allowed relative to the coordinates, far more than building the hulls
+     * and measuring the distances can accumulate.
+     */
+    private static final double MARGIN = 0x1p-24;
+
+    /**
+     * The most chain vertices kept over all levels, 32 MB of ints.
+     */
+    static final int MAX_VERTICES = 1 << 23;
+
+    /**
+     * More levels than any window of an int-indexed track needs.
+     */
+    private static final int MAX_LEVELS = 32;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int maxVertices;
+
+    /**
+     * The track the hulls are built over, or null if there are none.
+     */
+    private Track track;
+
+    /**
+     * The window length the hulls were built for.
+     */
+    private int windowLength;
+    private int levels;
+
+    /**
+     * The largest absolute value of a coordinate.
+     */
+    private double scale;
+
+    // Per level, the chains of all nodes concatenated, and the offset of each node's chain.
+    private final int[][] lower = new int[MAX_LEVELS][];
+    private final int[][] lowerStart = new int[MAX_LEVELS][];
+    private final int[][] upper = new int[MAX_LEVELS][];
+    private final int[][] upperStart = new int[MAX_LEVELS][];
+
+    // Vertices of the node being built and of its two halves
+    private int[] sorted = EMPTY;
+    private int[] left = EMPTY;
+    private int[] right = EMPTY;
+
+    /**
+     * Creates a tree without hulls, which keep at most {@link #MAX_VERTICES} vertices.
+     */
+    HullTree() {
+        this(MAX_VERTICES);
+    }
+
+    /**
+     * Creates a tree without hulls.
+     *
+     * @param maxVertices the most chain vertices to keep over all levels
+     */
+    HullTree(int maxVertices) {
+        this.maxVertices = maxVertices;
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            lower[level] = lowerStart[level] = upper[level] = upperStart[level] = EMPTY;
+        }
+    }
+
+    /**
+     * Builds the hulls of a track in a new tree.
+     *
+     * @param track the data points
+     * @param windowLength the number of points between the first and last point of a window
+     * @return the hulls, or {@code null} if a coordinate is not finite or the lowest level does
+     *         not fit in {@link #MAX_VERTICES}
+     */
+    static HullTree of(Track track, int windowLength) {
+        HullTree hulls = new HullTree();
+        return hulls.build(track, windowLength) ? hulls : null;
+    }
+
+    /**
+     * Builds the hulls of a track, replacing the hulls this tree had and reusing their storage.
+     *
+     * @param track the data points
+     * @param windowLength the number of points between the first and last point of a window
+     * @return whether the hulls were built; if not, because a coordinate is not finite or the
+     *         lowest level does not fit, the tree has no hulls
+     */
+    boolean build(Track track, int windowLength) {
+        release();
+        int n = track.size();
+        double scale = 0;
+        for (int i = 0; i < n; i++) {
+            double x = track.x(i), y = track.y(i);
+            if (!Double.isFinite(x) || !Double.isFinite(y)) return false;
+            scale = Math.max(scale, Math.max(Math.abs(x), Math.abs(y)));
+        }
+        this.track = track;
+        this.scale = scale;
+
+        int wanted = 1;
+        while ((long) BLOCK << wanted <= windowLength) wanted++;
+        int nodeSize = (int) Math.min((long) BLOCK << (wanted - 1), n);
+        sorted = ensureCapacity(sorted, nodeSize);
+        left = ensureCapacity(left, nodeSize);
+        right = ensureCapacity(right, nodeSize);
+
+        int budget = maxVertices;
+        while (levels < wanted) {
+            int used = build(levels, budget);
+            if (used < 0) break;
+            budget -= used;
+            levels++;
+        }
+        if (levels == 0) {
+            release();
+            return false;
+        }
+        this.windowLength = windowLength;
+        return true;
+    }
+
+    /**
+     * @return whether this tree holds the hulls of the track, for windows up to the given length
+     */
+    boolean isBuiltFor(Track track, int windowLength) {
+        return this.track == track && windowLength <= this.windowLength;
+    }
+
+    /**
+     * Forgets the hulls, so that the track is no longer reachable from this tree. The storage is
+     * kept for the next {@link #build}.
+     */
+    void release() {
+        track = null;
+        windowLength = 0;
+        levels = 0;
+    }
+
+    /**
+     * Checks one window of LIC 6, as {@link LicEvaluator#isFartherFromLine}.
+     *
+     * @param first the index of the first point of the window
+     * @param last the index of the last point of the window
+     * @param dist the distance to compare against
+     * @param squaredDist the {@link Utils#squaredThreshold(double)} of {@code dist}
+     * @return whether some point strictly between the first and last point lies further than
+     *         {@code dist} from the line through them, or from them if they coincide
+     */
+    boolean isFartherFromLine(int first, int last, double dist, double squaredDist) {
+        double first_x = track.x(first), first_y = track.y(first);
+        double last_x = track.x(last), last_y = track.y(last);
+        if (first_x == last_x && first_y == last_y) {
+            return isFartherFromPoint(first, last, dist, squaredDist);
+        }
+
+        double dy = last_y - first_y;
+        double dx = last_x - first_x;
+        double constant = (last_x * first_y) - (last_y * first_x);
+        double denom = Math.sqrt(dy * dy + dx * dx);
+
+        // The distance is |dy * x + dx * y + constant| / denom, so it is enough to find the
+        // largest numerator and divide once: rounded division keeps the order.
+        int from = first + 1;
+        int alignedFrom = Math.min(last, (from + BLOCK - 1) / BLOCK * BLOCK);
+        int alignedTo = Math.max(alignedFrom, last / BLOCK * BLOCK);
+
+        double farthest = 0;
+        for (int i = from; i < alignedFrom; i++) {
+            farthest = Math.max(farthest, numerator(i, dy, dx, constant));
+        }
+        for (int i = alignedTo; i < last; i++) {
+            farthest = Math.max(farthest, numerator(i, dy, dx, constant));
+        }
+        if (farthest / denom > dist) return true;
+
+        for (int pos = alignedFrom; pos < alignedTo; ) {
+            int level = largestNode(pos, alignedTo);
+            farthest = Math.max(farthest, farthest(level, pos / (BLOCK << level), dy, dx, constant));
+            if (farthest / denom > dist) return true;
+            pos += BLOCK << level;
+        }
+
+        // NaN, from a line too short to measure against, also falls through to the full check.
+        if (farthest / denom + margin(denom) <= dist) return false;
+        return LicEvaluator.isFartherFromLine(track, first, last, dist, squaredDist);
+    }
+
+    /**
+     * Checks a window whose first and last point coincide, by the distance from that point.
+     * The farthest point is a hull vertex too, but not one that binary search can find, so all
+     * vertices of the covering nodes are measured.
+     */
+    private boolean isFartherFromPoint(int first, int last, double dist, double squaredDist) {
+        double first_x = track.x(first), first_y = track.y(first);
+        int from = first + 1;
+        int alignedFrom = Math.min(last, (from + BLOCK - 1) / BLOCK * BLOCK);
+        int alignedTo = Math.max(alignedFrom, last / BLOCK * BLOCK);
+
+        double farthest = 0;
+        for (int i = from; i < alignedFrom; i++) {
+            farthest = Math.max(farthest, squaredDistance(i, first_x, first_y));
+        }
+        for (int i = alignedTo; i < last; i++) {
+            farthest = Math.max(farthest, squaredDistance(i, first_x, first_y));
+        }
+
+        for (int pos = alignedFrom; pos < alignedTo; ) {
+            int level = largestNode(pos, alignedTo);
+            int node = pos / (BLOCK << level);
+            // The upper chain shares its ends with the lower chain, so only its inner vertices are new
+            for (int k = lowerStart[level][node]; k < lowerStart[level][node + 1]; k++) {
+                farthest = Math.max(farthest, squaredDistance(lower[level][k], first_x, first_y));
+            }
+            for (int k = upperStart[level][node] + 1; k < upperStart[level][node + 1] - 1; k++) {
+                farthest = Math.max(farthest, squaredDistance(upper[level][k], first_x, first_y));
+            }
+            pos += BLOCK << level;
+        }
+
+        // Measured as by LIC 6, the farthest squared distance is a witness
+        if (farthest > squaredDist) return true;
+        if (Math.sqrt(farthest) + MARGIN * scale <= dist) return false;
+        return LicEvaluator.isFartherFromLine(track, first, last, dist, squaredDist);
+    }
+
+    /**
+     * Returns the level of the largest node that starts at the block boundary {@code pos} and
+     * ends at or before the block boundary {@code end}.
+     */
+    private int largestNode(int pos, int end) {
+        int block = pos / BLOCK;
+        int level = 0;
+        while (level + 1 < levels
+                && (block & ((2 << level) - 1)) == 0
+                && pos + (BLOCK << (level + 1)) <= end) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Measures the candidates of a node for the farthest point from a line. The largest value
+     * of {@code dy * x + dx * y} is on the upper chain if {@code dx} is positive, and on the lower
+     * chain if it is negative; the smallest on the other one. If {@code dx} is 0, both are ends of
+     * the chains, which the chains share.
+     *
+     * @return the largest numerator of the distance among the candidates, as computed by LIC 6
+     */
+    private double farthest(int level, int node, double dy, double dx, double constant) {
+        if (dx >= 0) {
+            return Math.max(farthest(upper[level], upperStart[level][node], upperStart[level][node + 1], dy, dx, constant, 1),
+                            farthest(lower[level], lowerStart[level][node], lowerStart[level][node + 1], dy, dx, constant, -1));
+        }
+        return Math.max(farthest(lower[level], lowerStart[level][node], lowerStart[level][node + 1], dy, dx, constant, 1),
+                        farthest(upper[level], upperStart[level][node], upperStart[level][node + 1], dy, dx, constant, -1));
+    }
+
+    /**
+     * Measures the candidates of a chain: its ends and the vertex where {@code dy * x + dx * y}
+     * is largest, for {@code side = 1}, or smallest, for {@code side = -1}. Short chains are
+     * measured entirely, which is faster than searching them.
+     */
+    private double farthest(int[] chain, int from, int to, double dy, double dx, double constant, int side) {
+        double farthest = 0;
+        if (to - from <= SHORT_CHAIN) {
+            for (int k = from; k < to; k++) {
+                farthest = Math.max(farthest, numerator(chain[k], dy, dx, constant));
+            }
+            return farthest;
+        }
+
+        // Along a convex chain, dy * x + dx * y rises and then falls, or the other way round
+        int lo = from, hi = to - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (side * rise(chain[mid], chain[mid + 1], dy, dx) > 0) lo = mid + 1;
+            else hi = mid;
+        }
+        farthest = Math.max(numerator(chain[from], dy, dx, constant), numerator(chain[to - 1], dy, dx, constant));
+        return Math.max(farthest, numerator(chain[lo], dy, dx, constant));
+    }
+
+    private double numerator(int i, double dy, double dx, double constant) {
+        return Math.abs(dy * track.x(i) + dx * track.y(i) + constant);
+    }
+
+    /**
+     * How much {@code dy * x + dx * y} changes from point a to point b, computed from the edge
+     * so that its sign stays reliable for short edges.
+     */
+    private double rise(int a, int b, double dy, double dx) {
+        return dy * (track.x(b) - track.x(a)) + dx * (track.y(b) - track.y(a));
+    }
+
+    /**
+     * The most that rounding can hide: how much further than the farthest candidate a point of
+     * the window can be, for a line of length {@code denom}.
+     */
+    private double margin(double denom) {
+        return MARGIN * (scale + scale * scale / denom);
+    }
+
+    private double squaredDistance(int i, double x, double y) {
+        double dist_x = track.x(i) - x;
+        double dist_y = track.y(i) - y;
+        return dist_x * dist_x + dist_y * dist_y;
+    }
+
+    /**
+     * Builds the hulls of all nodes of a level: from the points of each block on level 0, from
+     * the hulls of the two halves above.
+     *
+     * @param budget the most vertices the chains of the level may take
+     * @return the number of vertices of the chains, or -1 if they would exceed the budget
+     */
+    private int build(int level, int budget) {
+        int n = track.size();
+        int size = BLOCK << level;
+        int nodes = nodes(level);
+
+        int[] lowerOffsets = lowerStart[level] = ensureCapacity(lowerStart[level], nodes + 1);
+        int[] upperOffsets = upperStart[level] = ensureCapacity(upperStart[level], nodes + 1);
+        int lowerSize = 0, upperSize = 0;
+
+        for (int node = 0; node < nodes; node++) {
+            int count;
+            if (level == 0) {
+                int from = node * size, to = Math.min(n, from + size);
+                count = 0;
+                for (int i = from; i < to; i++) {
+                    // Insertion sort by (x, y), as a block is small
+                    int k = count++;
+                    while (k > 0 && compare(sorted[k - 1], i) > 0) {
+                        sorted[k] = sorted[k - 1];
+                        k--;
+                    }
+                    sorted[k] = i;
+                }
+            } else if (2 * node + 1 < nodes(level - 1)) {
+                int leftCount = vertices(level - 1, 2 * node, left);
+                int rightCount = vertices(level - 1, 2 * node + 1, right);
+                count = merge(left, 0, leftCount, right, 0, rightCount, sorted);
+            } else {
+                count = vertices(level - 1, 2 * node, sorted);
+            }
+
+            if (lowerSize + upperSize + 2L * count > budget) return -1;
+            lower[level] = ensureCapacity(lower[level], lowerSize + count);
+            upper[level] = ensureCapacity(upper[level], upperSize + count);
+            lowerSize = chain(sorted, count, lower[level], lowerSize, -1);
+            upperSize = chain(sorted, count, upper[level], upperSize, 1);
+            lowerOffsets[node + 1] = lowerSize;
+            upperOffsets[node + 1] = upperSize;
+        }
+        lowerOffsets[0] = 0;
+        upperOffsets[0] = 0;
+        return lowerSize + upperSize;
+    }
+
+    /**
+     * @return the number of nodes of a level
+     */
+    private int nodes(int level) {
+        return (int) (((long) track.size() + (BLOCK << level) - 1) / (BLOCK << level));
+    }
+
+    /**
+     * Writes the hull vertices of a node, sorted by (x, y), into {@code into}.
+     *
+     * @return the number of vertices
+     */
+    private int vertices(int level, int node, int[] into) {
+        return merge(lower[level], lowerStart[level][node], lowerStart[level][node + 1],
+                     upper[level], upperStart[level][node], upperStart[level][node + 1], into);
+    }
+
+    /**
+     * Merges two lists of indices sorted by (x, y), dropping an index that is in both.
+     *
+     * @return the number of indices written to {@code into}
+     */
+    private int merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] into) {
+        int count = 0;
+        while (aFrom < aTo || bFrom < bTo) {
+            int next;
+            if (bFrom == bTo || (aFrom < aTo && compare(a[aFrom], b[bFrom]) <= 0)) next = a[aFrom++];
+            else next = b[bFrom++];
+            if (count == 0 || into[count - 1] != next) into[count++] = next;
+        }
+        return count;
+    }
+
+    /**
+     * Appends one chain of the hull of points sorted by (x, y) with Andrew's monotone chain:
+     * the lower chain for {@code side = -1}, the upper chain for {@code side = 1}.
+     *
+     * @param chains the chains of the level, with room for {@code count} more vertices
+     * @param size the number of vertices in {@code chains}
+     * @return the number of vertices in {@code chains} with the new chain
+     */
+    private int chain(int[] sorted, int count, int[] chains, int size, int side) {
+        int start = size;
+        for (int k = 0; k < count; k++) {
+            int p = sorted[k];
+            while (size - start >= 2 && side * cross(chains[size - 2], chains[size - 1], p) >= 0) {
+                size--;
+            }
+            chains[size++] = p;
+        }
+        return size;
+    }
+
+    /**
+     * The cross product of {@code a - o} and {@code b - o}: positive if o, a, b turn left.
+     */
+    private double cross(int o, int a, int b) {
+        double o_x = track.x(o), o_y = track.y(o);
+        return (track.x(a) - o_x) * (track.y(b) - o_y) - (track.y(a) - o_y) * (track.x(b) - o_x);
+    }
+
+    private int compare(int i, int j) {
+        int byX = Double.compare(track.x(i), track.x(j));
+        return byX != 0 ? byX : Double.compare(track.y(i), track.y(j));
+    }
+
+    /**
+     * Returns the array if it has room for {@code length} ints, or a larger copy of it.
+     */
+    private static int[] ensureCapacity(int[] array, int length) {
+        if (array.length >= length) return array;
+        return Arrays.copyOf(array, Math.max(length, array.length + (array.length >> 1)));
+    }
+}
@@ -0,0 +1,157 @@
+package se.kth.dd2480.group15.model;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A Conditions Met Vector (CMV) whose entries are evaluated on first access and then memoized.
+ *
+ * <p>Used by the lazy overloads in {@link Evaluator}, which only ask for the LICs that can still
+ * change the launch decision, so LICs that the LCM and PUV make irrelevant are never computed.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class LazyCmv {
+
+    /**
+     * The LICs ordered from cheapest to most expensive to evaluate: single distances and
+     * x-differences first, then triangle areas, quadrants, circle radii, angles, and finally
+     * LIC 6, which measures every point of every window.
+     */
+    private static final int[] CHEAPEST_FIRST = {5, 11, 0, 7, 12, 3, 10, 14, 4, 1, 8, 13, 2, 9, 6};
+    private static final int[] COST_RANK = new int[15];
+
+    static {
+        for (int rank = 0; rank < CHEAPEST_FIRST.length; rank++) {
+            COST_RANK[CHEAPEST_FIRST[rank]] = rank;
+        }
+    }
+
+    private final IntPredicate lic;
+    private int evaluated;
+    private int values;
+
+    /**
+     * Creates a CMV for the given data points. No LIC is evaluated yet.
+     *
+     * @param track the data points
+     * @param params the parameters of the LICs
+     */
+    public LazyCmv(Track track, Parameters params) {
+        this(lics(track, params));
+    }
+
+    /**
+     * Creates a CMV for the given data points whose entries are partly known already, for
+     * example from a cache. Only the other entries are evaluated.
+     *
+     * @param track the data points
+     * @param params the parameters of the LICs
+     * @param values the known entries that are true, bit i set for LIC i
+     * @param evaluated the known entries, bit i set for LIC i
+     */
+    public LazyCmv(Track track, Parameters params, int values, int evaluated) {
+        this(lics(track, params));
+        this.evaluated = evaluated & Evaluator.ALL;
+        this.values = values & this.evaluated;
+    }
+
+    /**
+     * @param lic computes the value of the LIC with the given number
+     */
+    LazyCmv(IntPredicate lic) {
+        this.lic = lic;
+    }
+
+    /**
+     * Forgets all evaluated entries, so that the next access evaluates them again.
+     */
+    void clear() {
+        evaluated = 0;
+        values = 0;
+    }
+
+    /**
+     * Returns the value of a LIC, evaluating it if this is the first time it is asked for.
+     *
+     * @param lic the number of the LIC, 0-14
+     * @return whether the LIC is satisfied
+     * @throws IllegalArgumentException if there is no such LIC
+     */
+    public boolean get(int lic) {
+        if (lic < 0 || lic >= 15) {
+            throw new IllegalArgumentException("There is no LIC " + lic + ".");
+        }
+        int bit = 1 << lic;
+        if ((evaluated & bit) == 0) {
+            if (this.lic.test(lic)) values |= bit;
+            evaluated |= bit;
+        }
+        return (values & bit) != 0;
+    }
+
+    /**
+     * @param lic the number of the LIC, 0-14
+     * @return whether the LIC has been evaluated
+     */
+    public boolean isEvaluated(int lic) {
+        return (evaluated & (1 << lic)) != 0;
+    }
+
+    /**
+     * @return the entries evaluated so far, bit i set for LIC i
+     */
+    public int evaluated() {
+        return evaluated;
+    }
+
+    /**
+     * @return the entries evaluated so far that are true, bit i set for LIC i
+     */
+    public int values() {
+        return values;
+    }
+
+    /**
+     * Returns whether all LICs in a set are satisfied. Entries already known to be false are
+     * checked first, then the others are evaluated from cheapest to most expensive, stopping at
+     * the first false one.
+     *
+     * @param lics the LICs to check, bit {@code i} set for LIC {@code i}
+     * @return whether every LIC in the set is satisfied
+     */
+    public boolean allTrue(int lics) {
+        if ((lics & evaluated & ~values) != 0) return false;
+        for (int lic : CHEAPEST_FIRST) {
+            if ((lics & (1 << lic)) != 0 && !get(lic)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether evaluating LIC {@code a} is expected to be no more expensive than
+     * evaluating LIC {@code b}, counting LICs that are already evaluated as free.
+     */
+    boolean isCheaper(int a, int b) {
+        if (isEvaluated(a)) return true;
+        if (isEvaluated(b)) return false;
+        return COST_RANK[a] <= COST_RANK[b];
+    }
+
+    /**
+     * Evaluates all entries that are not evaluated yet.
+     *
+     * @return the full CMV
+     */
+    public boolean[] toArray() {
+        boolean[] CMV = new boolean[15];
+        for (int i = 0; i < 15; i++) {
+            CMV[i] = get(i);
+        }
+        return CMV;
+    }
+
+    private static IntPredicate lics(Track track, Parameters params) {
+        LicEvaluator evaluator = new LicEvaluator();
+        return lic -> evaluator.evaluateLic(lic, track, params);
+    }
+}
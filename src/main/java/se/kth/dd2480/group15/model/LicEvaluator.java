@@ -1,15 +1,19 @@
 package se.kth.dd2480.group15.model;
 
-import static se.kth.dd2480.group15.utils.Utils.doubleCompare;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
-import java.util.Arrays;
-
-import se.kth.dd2480.group15.utils.CompType;
+import se.kth.dd2480.group15.utils.AngleBand;
 import se.kth.dd2480.group15.utils.Utils;
 
 /**
  * This class contains methods to evaluate the Launch Interceptor Conditions (LICs) idependently and also evaluate all LICs.
  * <p>
+ * Every LIC is implemented on a {@link Track}, which stores the coordinates as primitives. The variants that take
+ * a {@code Point[]} are adapters that delegate with a view of the points, without copying them.
+ * <p>
  * @param PI The mathematical constant π (pi) for global use in LIC evaluations.
  */
 public class LicEvaluator {
@@ -17,96 +21,268 @@ public class LicEvaluator {
     public static final double PI = 3.1415926535;
 
     /**
-     * Checks if there exists at least one set of two consecutive data points 
+     * Whether the SIMD kernels of {@link VectorKernels} are used for tracks backed by arrays. They
+     * need the incubating {@code jdk.incubator.vector} module, which is only resolved when the JVM
+     * is started with {@code --add-modules jdk.incubator.vector}; otherwise the scalar loops are used.
+     */
+    static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Evaluates the LICs on the chunks of a chunked search.
+     */
+    private static final LicEvaluator SEQUENTIAL = new LicEvaluator();
+
+    // The conditions of LICs 12 to 14, as returned by distanceBounds, radiusBounds and areaBounds
+    static final int ABOVE = 1;
+    static final int BELOW = 2;
+    private static final int BOTH = ABOVE | BELOW;
+
+    /**
+     * The pool that chunks are searched on, or null to search them in order on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The number of data points from which the windows of a LIC are searched in chunks.
+     */
+    private final int chunkThreshold;
+
+    /**
+     * The hulls of LIC 6, kept between calls so that their storage is reused, or null to build
+     * new hulls on each call. Only evaluators confined to one thread keep them.
+     */
+    private final HullTree hulls;
+
+    /**
+     * Creates an evaluator that evaluates each LIC on the calling thread.
+     */
+    public LicEvaluator() {
+        this(Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates an evaluator that splits the windows of a LIC into chunks and searches them in
+     * parallel, for tracks of at least {@code parallelThreshold} points. Once a chunk finds a
+     * window that satisfies the LIC, the chunks that have not started yet are skipped. The
+     * results are those of a sequential evaluator.
+     *
+     * @param pool the pool to search on
+     * @param parallelThreshold the number of data points from which a track is searched in parallel
+     * @throws IllegalArgumentException if {@code pool} is null or the threshold is not positive
+     */
+    public LicEvaluator(ForkJoinPool pool, int parallelThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool must not be null.");
+        }
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("The parallel threshold must be positive.");
+        }
+        this.pool = pool;
+        this.chunkThreshold = parallelThreshold;
+        this.hulls = null;
+    }
+
+    private LicEvaluator(int chunkThreshold, HullTree hulls) {
+        this.pool = null;
+        this.chunkThreshold = chunkThreshold;
+        this.hulls = hulls;
+    }
+
+    /**
+     * Creates an evaluator that stops when its thread is interrupted. The windows of a LIC on a
+     * large track are searched in chunks, one after the other on the calling thread, and the
+     * thread is checked for an interrupt before each chunk. The results are those of a
+     * sequential evaluator, and chunks of a track backed by arrays still use the SIMD kernels.
+     *
+     * @return an evaluator whose LICs throw {@link java.util.concurrent.CancellationException}
+     *         once their thread is interrupted
+     */
+    public static LicEvaluator interruptible() {
+        return new LicEvaluator(2 * WindowSearch.MIN_CHUNK, null);
+    }
+
+    /**
+     * Creates an evaluator for one thread that keeps the hulls of LIC 6 between calls. They are
+     * rebuilt in place for each track, or reused while the same track is evaluated again, so
+     * that evaluating tracks of the same size allocates nothing. Call {@link #release()} once
+     * the track may change or should no longer be reachable.
+     *
+     * @return an evaluator that must not be shared between threads
+     */
+    static LicEvaluator confined() {
+        return new LicEvaluator(Integer.MAX_VALUE, new HullTree());
+    }
+
+    /**
+     * Forgets the track whose hulls this evaluator keeps, if any. Their storage is kept.
+     */
+    void release() {
+        if (hulls != null) hulls.release();
+    }
+
+    /**
+     * Returns the hulls of a track, built in the kept storage if this evaluator has one.
+     *
+     * @return the hulls, or {@code null} if they cannot be built
+     */
+    private HullTree hulls(Track track, int windowLength) {
+        if (hulls == null) return HullTree.of(track, windowLength);
+        if (hulls.isBuiltFor(track, windowLength) || hulls.build(track, windowLength)) return hulls;
+        return null;
+    }
+
+    /**
+     * Whether the windows of a LIC on this track are searched in chunks.
+     */
+    private boolean isChunked(Track track) {
+        return track.size() >= chunkThreshold;
+    }
+
+    /**
+     * Checks if there exists at least one set of two consecutive data points
      * that are a distance greater than the specified length.
      *
-     * @param numPoints The number of data points in the array.
-     * @param points        An array containing the (x,y) coordinates for each point.
+     * @param track  the data points.
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code length1}).
-     * @return {@code true} if any two consecutive points are further apart than length1; 
+     * @return {@code true} if any two consecutive points are further apart than length1;
      * {@code false} otherwise.
      */
-    public boolean Lic0(int numPoints, Point[] points, Parameters params) {
-        double length1 = params.length1();
+    public boolean Lic0(Track track, Parameters params) {
+        int numPoints = track.size();
+        double squaredLength1 = Utils.squaredThreshold(params.length1());
+
+        if (isChunked(track)) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.any(pool, numPoints - 1, (from, to) ->
+                        VectorKernels.anyDistanceGreater(arrays.xs(), arrays.ys(), 1, squaredLength1, from, to));
+            }
+            return WindowSearch.any(pool, track, 1, slice -> SEQUENTIAL.Lic0(slice, params));
+        }
 
-        for (int i = 0; i < numPoints-1; i++) {
-            double dist_x = points[i+1].x() - points[i].x();
-            double dist_y = points[i+1].y() - points[i].y();
+        if (VECTOR_API && track instanceof ArrayTrack arrays) {
+            return VectorKernels.anyDistanceGreater(arrays.xs(), arrays.ys(), 1, squaredLength1, 0, numPoints - 1);
+        }
 
-            double euclidian_dist = Math.sqrt(Math.pow(dist_x, 2) + Math.pow(dist_y, 2));
+        for (int i = 0; i < numPoints-1; i++) {
+            double dist_x = track.x(i+1) - track.x(i);
+            double dist_y = track.y(i+1) - track.y(i);
 
-            if(euclidian_dist > length1){
+            if(Utils.distanceExceeds(dist_x, dist_y, squaredLength1)){
                 return true;
             }
-        } 
+        }
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic0(Track, Parameters)}.
+     *
+     * @param numPoints The number of data points in the array.
+     * @param points        An array containing the (x,y) coordinates for each point.
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code length1}).
+     * @return {@code true} if any two consecutive points are further apart than length1;
+     * {@code false} otherwise.
+     */
+    public boolean Lic0(int numPoints, Point[] points, Parameters params) {
+        return Lic0(Track.of(points, numPoints), params);
+    }
+
     /**
      * Checks if there exists at least one set of three consecutive data points that cannot all be contained
      * within or on a circle of the specified radius.
-     * 
-     * @param numPoints The number of data points in the array.
-     * @param points An array containing the data points.
+     *
+     * @param track the data points.
      * @param params A Parameters object containing values for the radius1 parameter.
      * @return true if there exists at least one set of points that fulfills the requirement above; otherwise false.
      */
-    public boolean Lic1(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic1(Track track, Parameters params) {
+        int numPoints = track.size();
         if (params.radius1() < 0 || numPoints < 3) { return false; }
+        if (isChunked(track)) {
+            return WindowSearch.any(pool, track, 2, slice -> SEQUENTIAL.Lic1(slice, params));
+        }
+        double squaredRadius1 = Utils.squaredThreshold(params.radius1());
 
         for (int i = 0; i < numPoints - 2; i++) {
-            Point p1 = points[i], p2 = points[i+1], p3 = points[i+2];
-
-            double radius = Utils.getCircleRadius(p1, p2, p3);
-
-            if (radius > params.radius1()) { return true; }
+            if (Utils.radiusExceeds(track.x(i), track.y(i), track.x(i+1), track.y(i+1), track.x(i+2), track.y(i+2),
+                    squaredRadius1)) { return true; }
         }
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic1(Track, Parameters)}.
+     *
+     * @param numPoints The number of data points in the array.
+     * @param points An array containing the data points.
+     * @param params A Parameters object containing values for the radius1 parameter.
+     * @return true if there exists at least one set of points that fulfills the requirement above; otherwise false.
+     */
+    public boolean Lic1(int numPoints, Point[] points, Parameters params) {
+        return Lic1(Track.of(points, numPoints), params);
+    }
+
     /**
      * Evaluates whether there exists at least one set of three consecutive data points which
      * form an angle that is outside the range defined by pi ± epsilon.
      *
-     * @param numPoints the number of points in the array (must be at least 3)
-     * @param points an array of Point objects representing the coordinates of points
+     * @param track the data points (at least 3 are required)
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code epsilon}).
      * @return true if at least one set of three consecutive points form an angle outside pi ± epsilon; false otherwise
      */
-    public boolean Lic2(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic2(Track track, Parameters params) {
+        int numPoints = track.size();
         double epsilon = params.epsilon();
         if (epsilon < 0 || epsilon >= PI || numPoints < 3) return false;
+        if (isChunked(track)) return WindowSearch.any(pool, track, 2, slice -> SEQUENTIAL.Lic2(slice, params));
+
+        double cosineBound = params.angleCosineBound();
 
         for (int i = 0; i < numPoints - 2; i++) {
-            Point p1 = points[i];
-            Point vertex = points[i + 1];
-            Point p3 = points[i + 2];
-
-            try {
-                double angle = Utils.angleAtVertex(p1, vertex, p3);
-                if (doubleCompare(angle, PI - epsilon) == CompType.LT ||
-                    doubleCompare(angle, PI + epsilon) == CompType.GT) return true;
-            } catch (IllegalArgumentException _) {
-            }
+            if (isAngleOutsideBand(track, i, i + 1, i + 2, cosineBound)) return true;
         }
 
         return false;
     }
-    
+
     /**
-     * Checks if there exists at least one set of three 
+     * Point array variant of {@link #Lic2(Track, Parameters)}.
+     *
+     * @param numPoints the number of points in the array (must be at least 3)
+     * @param points an array of Point objects representing the coordinates of points
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code epsilon}).
+     * @return true if at least one set of three consecutive points form an angle outside pi ± epsilon; false otherwise
+     */
+    public boolean Lic2(int numPoints, Point[] points, Parameters params) {
+        return Lic2(Track.of(points, numPoints), params);
+    }
+
+    /**
+     * Checks whether the angle formed at {@code vertex} by the points {@code first} and {@code last}
+     * lies outside pi ± epsilon, given as {@link Parameters#angleCosineBound()}. An angle is
+     * undefined, and never outside the range, if either point coincides with the vertex.
+     */
+    static boolean isAngleOutsideBand(Track track, int first, int vertex, int last, double cosineBound) {
+        return Utils.angleBand(track.x(first), track.y(first), track.x(vertex), track.y(vertex),
+                track.x(last), track.y(last), cosineBound) == AngleBand.OUTSIDE;
+    }
+
+    /**
+     * Checks if there exists at least one set of three
      * consecutive data points that are the vertices of
      * a triangle with area greater than AREA1. (AREA1 >= 0).
      *
-     * @param numPoints the number of data points in the array
-     * @param points an array of Point elements
+     * @param track the data points
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code area1}).
      * @return true if the condition is met, false otherwise
      */
-    public boolean Lic3(double numPoints, Point[] points, Parameters params) {
+    public boolean Lic3(Track track, Parameters params) {
+        int numPoints = track.size();
         double area1 = params.area1();
         // area1 must be equal or greater than 0
         if(area1 < 0){
@@ -115,161 +291,274 @@ public class LicEvaluator {
 
         // need at least 3 coordinates
         if(numPoints >= 3){
+            if (isChunked(track)) {
+                if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                    return WindowSearch.any(pool, numPoints - 2, (from, to) ->
+                            VectorKernels.anyAreaGreater(arrays.xs(), arrays.ys(), 0, 0, area1, from, to));
+                }
+                return WindowSearch.any(pool, track, 2, slice -> SEQUENTIAL.Lic3(slice, params));
+            }
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return VectorKernels.anyAreaGreater(arrays.xs(), arrays.ys(), 0, 0, area1, 0, numPoints - 2);
+            }
+
             for(int i = 0; i <= (numPoints-3); i++){
-                Point p1 = points[i];
-                Point p2 = points[i+1];
-                Point p3 = points[i+2];
-
-                // get positive area of a triangle from 3 coordinates
-                double area = Utils.getTriangleArea(p1, p2, p3);
-                
-                // if area > area1 
-                if (Utils.doubleCompare(area, area1) == CompType.GT) 
+                // if area > area1
+                if (Utils.areaExceeds(track.x(i), track.y(i), track.x(i+1), track.y(i+1), track.x(i+2), track.y(i+2), area1))
                     return true;
             }
         }
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic3(Track, Parameters)}.
+     *
+     * @param numPoints the number of data points in the array
+     * @param points an array of Point elements
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code area1}).
+     * @return true if the condition is met, false otherwise
+     */
+    public boolean Lic3(double numPoints, Point[] points, Parameters params) {
+        return Lic3(Track.of(points, (int) numPoints), params);
+    }
+
     /**
      * Checks whether there exists at least one set of {@code qPts} consecutive data
      * points which lie in more than {@code quads} quadrants.
      *
-     * @param numPoints the number of data points in the array
-     * @param points an array containing the (x,y) coordinates for each point.
+     * <p>The window slides one point at a time, keeping the last point seen in each quadrant. A
+     * quadrant is covered while its last point is in the window, so the LIC runs in O(n)
+     * regardless of {@code qPts}, and without allocating.</p>
+     *
+     * @param track the data points.
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code qPts}, {@code quads}).
      * @return {@code true} if there exists at least one set of points that fulfills the
      *         requirements described above; {@code false} otherwise.
      */
-    public boolean Lic4(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic4(Track track, Parameters params) {
+        int numPoints = track.size();
         int qPts = params.qPts();
         int quads = params.quads();
 
         if (qPts < 2 || qPts > numPoints || quads < 1 || quads > 3) return false;
-
-        boolean[] coveredQuads = new boolean[4];
-        for (int start = 0; start < numPoints - qPts + 1; start++) {
-            Arrays.fill(coveredQuads, false); // "Reset" quadrants
-
-            for (int j = start; j < start + qPts; j++) {
-                double x = points[j].x(), y = points[j].y();
-
-                if (x >= 0 && y >= 0) coveredQuads[0] = true;
-                else if (x < 0 && y >= 0) coveredQuads[1] = true;
-                else if (x <= 0 && y < 0) coveredQuads[2] = true;
-                else coveredQuads[3] = true;
+        if (isChunked(track)) return WindowSearch.any(pool, track, qPts - 1, slice -> SEQUENTIAL.Lic4(slice, params));
+
+        // The last point seen in each quadrant, before the first window if none
+        int last0 = -1, last1 = -1, last2 = -1, last3 = -1;
+        for (int i = 0; i < numPoints; i++) {
+            switch (quadrant(track.x(i), track.y(i))) {
+                case 0 -> last0 = i;
+                case 1 -> last1 = i;
+                case 2 -> last2 = i;
+                default -> last3 = i;
             }
 
-            int numCoveredQuads = 0;
-            for (boolean quad : coveredQuads) if (quad) numCoveredQuads++;
-            if (numCoveredQuads > quads) return true;
+            int first = i - qPts + 1;
+            if (first >= 0) {
+                int coveredQuads = (last0 >= first ? 1 : 0) + (last1 >= first ? 1 : 0)
+                        + (last2 >= first ? 1 : 0) + (last3 >= first ? 1 : 0);
+                if (coveredQuads > quads) return true;
+            }
         }
 
         return false;
     }
 
+    /**
+     * Returns the quadrant of a data point, 0-3. A point on an axis belongs to the quadrant with
+     * the lowest number among those it borders: (0, 0) to quadrant 0, (-1, 0) to quadrant 1 and
+     * (0, -1) to quadrant 2.
+     */
+    static int quadrant(double x, double y) {
+        if (x >= 0 && y >= 0) return 0;
+        else if (x < 0 && y >= 0) return 1;
+        else if (x <= 0 && y < 0) return 2;
+        else return 3;
+    }
+
+    /**
+     * Point array variant of {@link #Lic4(Track, Parameters)}.
+     *
+     * @param numPoints the number of data points in the array
+     * @param points an array containing the (x,y) coordinates for each point.
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code qPts}, {@code quads}).
+     * @return {@code true} if there exists at least one set of points that fulfills the
+     *         requirements described above; {@code false} otherwise.
+     */
+    public boolean Lic4(int numPoints, Point[] points, Parameters params) {
+        return Lic4(Track.of(points, numPoints), params);
+    }
+
     /**
      * Checks if there exists at least one set of two consecutive data points, (X[i],Y[i]) and (X[j],Y[j]), such
      * that X[j] - X[i] < 0. (where i = j-1)
      * <p>
-     * @param numPoints the number of data points in the array
-     * @param points an array containing the (x,y) coordinates for each point.
+     * @param track the data points.
      * @return {@code true} if there exists at least one set of two consecutive data points such that X[j] - X[i] < 0;
      *         {@code false} otherwise.
      */
+    public boolean Lic5(Track track) {
+        int numPoints = track.size();
 
-    public boolean Lic5(int numPoints, Point[] points) {
+        if (isChunked(track)) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.any(pool, numPoints - 1, (from, to) -> VectorKernels.anyXDecrease(arrays.xs(), 1, from, to));
+            }
+            return WindowSearch.any(pool, track, 1, slice -> SEQUENTIAL.Lic5(slice));
+        }
+
+        if (VECTOR_API && track instanceof ArrayTrack arrays) {
+            return VectorKernels.anyXDecrease(arrays.xs(), 1, 0, numPoints - 1);
+        }
 
         for(int i=1; i<numPoints; i++)
-            if(points[i].x() - points[i-1].x() < 0)
+            if(track.x(i) - track.x(i-1) < 0)
                 return true;
         return false;
     }
 
     /**
-     * Checks if there exists at least one set of N_PTS consecutive data points such that 
-     * at least one point lies a distance greater than DIST from the line joining 
+     * Point array variant of {@link #Lic5(Track)}.
+     * <p>
+     * @param numPoints the number of data points in the array
+     * @param points an array containing the (x,y) coordinates for each point.
+     * @return {@code true} if there exists at least one set of two consecutive data points such that X[j] - X[i] < 0;
+     *         {@code false} otherwise.
+     */
+    public boolean Lic5(int numPoints, Point[] points) {
+        return Lic5(Track.of(points, numPoints));
+    }
+
+    /**
+     * Checks if there exists at least one set of N_PTS consecutive data points such that
+     * at least one point lies a distance greater than DIST from the line joining
      * the first and last of these N_PTS points.
      *
-     * If the first and last points are identical, the distance is calculated as the 
+     * If the first and last points are identical, the distance is calculated as the
      * Euclidian distance between the coincident point to all other consecutive points.
-     * Otherwise if not identical, the distance from a point (x0, y0)  to the line 
+     * Otherwise if not identical, the distance from a point (x0, y0)  to the line
      * Ax + By + C = 0 is calculated using the point-to-plane formula:
-     * 
+     *
      * distance = |A*x0 + B*y0 + C| / sqrt(A^2 + B^2)
-     * 
+     *
      * The condition is not met if NUMPOINTS is less than 3.
-     * 
-     * @param numPoints The total number of data points.
-     * @param points        An array containing the (x,y) coordinates for each point.
+     *
+     * @param track  the data points.
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code nPts}, {@code dist}, {@code epsilon}).
-     * @return {@code true} if any point in a set is further than dist from the line 
-     * (or from the coincident point if the first and last points are identical); 
+     * @return {@code true} if any point in a set is further than dist from the line
+     * (or from the coincident point if the first and last points are identical);
      * {@code false} otherwise.
      */
-    public boolean Lic6(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic6(Track track, Parameters params) {
+        int numPoints = track.size();
         int nPts = params.nPts();
         double dist = params.dist();
 
         if(nPts > numPoints || nPts < 3){
             return false;
-        } 
+        }
 
         if(dist < 0){
             return false;
         }
 
-        for (int i = 0; i <= numPoints - nPts; i++) {
-            Point first_pt = points[i];
-            Point last_pt = points[i + nPts - 1];
-
-            for (int j = i+1; j < i + nPts - 1; j++){
-                double pt_dist;
-                Point current_pt = points[j];
+        if (isChunked(track)) {
+            return WindowSearch.any(pool, track, nPts - 1, slice -> SEQUENTIAL.Lic6(slice, params));
+        }
 
-                if (first_pt.x() == last_pt.x() && first_pt.y() == last_pt.y()){
-                            double dist_x = current_pt.x() - first_pt.x();
-                            double dist_y = current_pt.y() - first_pt.y();
+        double squaredDist = Utils.squaredThreshold(dist);
 
-                            pt_dist = Math.sqrt(Math.pow(dist_x, 2) + Math.pow(dist_y, 2));
-                        }
+        // Large windows are answered from the convex hulls of their points. The hulls take about
+        // as long to build as scanning numPoints points, so the first windows are scanned.
+        boolean hullsWorthIt = nPts >= HullTree.MIN_WINDOW;
+        HullTree hulls = null;
 
-                else{
-                    double dy = last_pt.y() - first_pt.y();
-                    double dx = last_pt.x() - first_pt.x();
-                    double constant = (last_pt.x() * first_pt.y()) - (last_pt.y() * first_pt.x());
-                    
-                    double num = Math.abs(dy * current_pt.x() + dx * current_pt.y() + constant);
-                    double denom = Math.sqrt(Math.pow(dy,2) + Math.pow(dx, 2));
+        for (int i = 0; i <= numPoints - nPts; i++) {
+            if (hullsWorthIt && hulls == null && (long) i * nPts >= numPoints) {
+                hulls = hulls(track, nPts - 2);
+                hullsWorthIt = hulls != null;
+            }
+            boolean farther = hulls != null
+                    ? hulls.isFartherFromLine(i, i + nPts - 1, dist, squaredDist)
+                    : isFartherFromLine(track, i, i + nPts - 1, dist, squaredDist);
+            if (farther) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                    pt_dist = num / denom;
+    /**
+     * Checks one window of LIC 6: whether some point strictly between {@code first} and
+     * {@code last} lies further than {@code dist} from the line through them, or from them if
+     * they coincide.
+     *
+     * @param squaredDist the {@link Utils#squaredThreshold(double)} of {@code dist}
+     */
+    static boolean isFartherFromLine(Track track, int first, int last, double dist, double squaredDist) {
+        double first_x = track.x(first), first_y = track.y(first);
+        double last_x = track.x(last), last_y = track.y(last);
+        boolean coincident = first_x == last_x && first_y == last_y;
+
+        // The line only depends on the window, so its coefficients are computed once per window.
+        double dy = last_y - first_y;
+        double dx = last_x - first_x;
+        double constant = (last_x * first_y) - (last_y * first_x);
+        double denom = coincident ? 0 : Math.sqrt(dy * dy + dx * dx);
+
+        for (int j = first+1; j < last; j++){
+            double current_x = track.x(j), current_y = track.y(j);
+
+            if (coincident){
+                if (Utils.distanceExceeds(current_x - first_x, current_y - first_y, squaredDist)){
+                    return true;
                 }
+            }
 
-                if(pt_dist > dist){
-                    return true;
-                }         
+            else{
+                double num = Math.abs(dy * current_x + dx * current_y + constant);
 
+                if(num / denom > dist){
+                    return true;
+                }
             }
-
         }
         return false;
     }
 
     /**
-     * Checks if there exists at least one set of two data points separated by 
-     * exactly K_PTS consecutive intervening points that are a distance 
-     * greater than the specified LENGTH1.
-     * <p>The condition is not met when NUMPOINTS is less than 3.</p>
+     * Point array variant of {@link #Lic6(Track, Parameters)}.
      *
      * @param numPoints The total number of data points.
      * @param points        An array containing the (x,y) coordinates for each point.
      * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code nPts}, {@code dist}, {@code epsilon}).
+     * @return {@code true} if any point in a set is further than dist from the line
+     * (or from the coincident point if the first and last points are identical);
+     * {@code false} otherwise.
+     */
+    public boolean Lic6(int numPoints, Point[] points, Parameters params) {
+        return Lic6(Track.of(points, numPoints), params);
+    }
+
+    /**
+     * Checks if there exists at least one set of two data points separated by
+     * exactly K_PTS consecutive intervening points that are a distance
+     * greater than the specified LENGTH1.
+     * <p>The condition is not met when NUMPOINTS is less than 3.</p>
+     *
+     * @param track  the data points.
+     * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code kPts}, {@code length1}).
      * @return {@code true} if any such pair exists; {@code false} otherwise.
      */
-    public boolean Lic7(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic7(Track track, Parameters params) {
+        int numPoints = track.size();
         int kPts = params.kPts();
         double length1 = params.length1();
 
@@ -281,89 +570,143 @@ public class LicEvaluator {
             return false;
         }
 
-        for (int i = 0; i < numPoints - kPts - 1; i++){
-            Point p1 = points[i];
-            Point p2 = points[i + kPts + 1];
+        double squaredLength1 = Utils.squaredThreshold(length1);
 
-            double dist_x = p2.x() - p1.x();
-            double dist_y = p2.y() - p1.y();
+        if (isChunked(track)) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.any(pool, numPoints - kPts - 1, (from, to) ->
+                        VectorKernels.anyDistanceGreater(arrays.xs(), arrays.ys(), kPts + 1, squaredLength1, from, to));
+            }
+            return WindowSearch.any(pool, track, kPts + 1, slice -> SEQUENTIAL.Lic7(slice, params));
+        }
+
+        if (VECTOR_API && track instanceof ArrayTrack arrays) {
+            return VectorKernels.anyDistanceGreater(arrays.xs(), arrays.ys(), kPts + 1, squaredLength1, 0, numPoints - kPts - 1);
+        }
 
-            double euclidian_dist = Math.sqrt(Math.pow(dist_x, 2) + Math.pow(dist_y, 2));
+        for (int i = 0; i < numPoints - kPts - 1; i++){
+            double dist_x = track.x(i + kPts + 1) - track.x(i);
+            double dist_y = track.y(i + kPts + 1) - track.y(i);
 
-            if (euclidian_dist > length1){
+            if (Utils.distanceExceeds(dist_x, dist_y, squaredLength1)){
                 return true;
             }
-        }   
+        }
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic7(Track, Parameters)}.
+     *
+     * @param numPoints The total number of data points.
+     * @param points        An array containing the (x,y) coordinates for each point.
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code kPts}, {@code length1}).
+     * @return {@code true} if any such pair exists; {@code false} otherwise.
+     */
+    public boolean Lic7(int numPoints, Point[] points, Parameters params) {
+        return Lic7(Track.of(points, numPoints), params);
+    }
+
     /**
      * Checks if there exists at least one set of three data points separated by exactly A_PTS and B_PTS
      * consecutive intervening points, respectively, that cannot be contained within or on a circle of
      * radius RADIUS1. The condition is not met when NUMPOINTS < 5.
-     * 
-     * @param numPoints The number of data points in the array.
-     * @param points An array containing the data points.
+     *
+     * @param track the data points.
      * @param params A Parameters object containing values for the aPts, bPts and radius1 parameters.
      * @return true if there exists at least one set of points that fulfills the requirement above; otherwise false.
      */
-    public boolean Lic8(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic8(Track track, Parameters params) {
+        int numPoints = track.size();
         int aPts = params.aPts(), bPts = params.bPts();
         double radius1 = params.radius1();
         if (numPoints < 5 || aPts < 1 || bPts < 1 || aPts+bPts > numPoints-3 || radius1 < 0) { return false; }
+        if (isChunked(track)) {
+            return WindowSearch.any(pool, track, aPts + bPts + 2, slice -> SEQUENTIAL.Lic8(slice, params));
+        }
+        double squaredRadius1 = Utils.squaredThreshold(radius1);
 
         for (int i = 0; i < numPoints-aPts-bPts-2; i++) {
-            Point p1 = points[i], p2 = points[i+aPts+1], p3 = points[i + aPts+1 + bPts+1];
+            int j = i+aPts+1, k = i + aPts+1 + bPts+1;
 
-            double radius = Utils.getCircleRadius(p1, p2, p3);
-
-            if (radius > radius1) { return true; }
+            if (Utils.radiusExceeds(track.x(i), track.y(i), track.x(j), track.y(j), track.x(k), track.y(k),
+                    squaredRadius1)) { return true; }
         }
 
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic8(Track, Parameters)}.
+     *
+     * @param numPoints The number of data points in the array.
+     * @param points An array containing the data points.
+     * @param params A Parameters object containing values for the aPts, bPts and radius1 parameters.
+     * @return true if there exists at least one set of points that fulfills the requirement above; otherwise false.
+     */
+    public boolean Lic8(int numPoints, Point[] points, Parameters params) {
+        return Lic8(Track.of(points, numPoints), params);
+    }
+
     /**
      * Evaluates whether there exists at least one set of three points separated by exactly
      * {@code cPts} and {@code dPts} consecutive intervening points, which form an angle that
-     * is outside the range defined by pi ± {@code epsilon}.
+     * is outside the range defined by pi ± {@code epsilon}. As for LIC 2, the condition is
+     * not met for an {@code epsilon} outside {@code [0, pi)}.
      *
-     * @param numPoints the number of points in the array
-     * @param points an array containing the (x,y) coordinates for each point.
+     * @param track the data points.
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code cPts}, {@code dPts}, {@code epsilon}).
      * @return {@code true} if there exists at least one set of points that fulfills the
      *         requirements described above; {@code false} otherwise.
      */
-    public boolean Lic9(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic9(Track track, Parameters params) {
+        int numPoints = track.size();
         int cPts = params.cPts();
         int dPts = params.dPts();
+        double epsilon = params.epsilon();
 
         if (cPts < 1 || dPts < 1 || cPts + dPts > numPoints - 3 || numPoints < 5) return false;
+        if (epsilon < 0 || epsilon >= PI) return false;
+        if (isChunked(track)) {
+            return WindowSearch.any(pool, track, cPts + dPts + 2, slice -> SEQUENTIAL.Lic9(slice, params));
+        }
+
+        double cosineBound = params.angleCosineBound();
 
         for (int i = 0; i < numPoints - cPts - dPts - 2; i++) {
-            Point[] selectedPoints = new Point[]{
-                    points[i],
-                    points[i + cPts + 1],
-                    points[i + cPts + dPts + 2]
-            };
-            if (Lic2(selectedPoints.length, selectedPoints, params)) return true;
+            if (isAngleOutsideBand(track, i, i + cPts + 1, i + cPts + dPts + 2, cosineBound)) return true;
         }
 
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic9(Track, Parameters)}.
+     *
+     * @param numPoints the number of points in the array
+     * @param points an array containing the (x,y) coordinates for each point.
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code cPts}, {@code dPts}, {@code epsilon}).
+     * @return {@code true} if there exists at least one set of points that fulfills the
+     *         requirements described above; {@code false} otherwise.
+     */
+    public boolean Lic9(int numPoints, Point[] points, Parameters params) {
+        return Lic9(Track.of(points, numPoints), params);
+    }
+
     /**
      * Checks if there exists at least 1 set of 3 data points: separated by exactly e_pts and f_pts
-     * consecutive intervening points, respectively, that can create a triangle area greater than area1. 
+     * consecutive intervening points, respectively, that can create a triangle area greater than area1.
      * (Condition is not met when numPoints < 5).
-     * @param numPoints the number of points in the array (must be at least 5)
-     * @param points an array of Point objects representing the coordinates of points 
+     * @param track the data points (at least 5 are required)
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code e_pts}, {@code f_pts}, {@code area1}).
      * @return true if at least one triangle, where the condition is met, is found. False otherwise.
      */
-    public boolean Lic10(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic10(Track track, Parameters params) {
+        int numPoints = track.size();
         int e_pts = params.ePts();
         int f_pts = params.fPts();
         double area1 = params.area1();
@@ -372,63 +715,108 @@ public class LicEvaluator {
         if (!(e_pts >= 1 && f_pts >= 1 && (e_pts + f_pts) <= (numPoints - 3) && numPoints >= 5))
             return false;
 
+        if (isChunked(track)) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.any(pool, numPoints - e_pts - f_pts - 2, (from, to) ->
+                        VectorKernels.anyAreaGreater(arrays.xs(), arrays.ys(), e_pts, f_pts, area1, from, to));
+            }
+            return WindowSearch.any(pool, track, e_pts + f_pts + 2, slice -> SEQUENTIAL.Lic10(slice, params));
+        }
+
+        if (VECTOR_API && track instanceof ArrayTrack arrays) {
+            return VectorKernels.anyAreaGreater(arrays.xs(), arrays.ys(), e_pts, f_pts, area1, 0, numPoints - e_pts - f_pts - 2);
+        }
+
         /**
-         * We want e_pts between p1 och p2 
-         * And at the same time f_pts between p2 and p3 
+         * We want e_pts between p1 och p2
+         * And at the same time f_pts between p2 and p3
          */
         for(int i = 0; i < numPoints - (e_pts + f_pts + 2); i++){
-            Point p1 = points[i];
-            Point p2 = points[i + e_pts + 1];
-            Point p3 = points[i + e_pts + f_pts + 2];
-
-            // get positive area of a triangle from 3 coordinates
-            double area = Utils.getTriangleArea(p1, p2, p3);
+            int j = i + e_pts + 1;
+            int k = i + e_pts + f_pts + 2;
 
-            // if area > area1 
-            if (Utils.doubleCompare(area, area1) == CompType.GT) 
+            // if area > area1
+            if (Utils.areaExceeds(track.x(i), track.y(i), track.x(j), track.y(j), track.x(k), track.y(k), area1))
                 return true;
             }
 
         return false;
     }
 
+    /**
+     * Point array variant of {@link #Lic10(Track, Parameters)}.
+     * @param numPoints the number of points in the array (must be at least 5)
+     * @param points an array of Point objects representing the coordinates of points
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code e_pts}, {@code f_pts}, {@code area1}).
+     * @return true if at least one triangle, where the condition is met, is found. False otherwise.
+     */
+    public boolean Lic10(int numPoints, Point[] points, Parameters params) {
+        return Lic10(Track.of(points, numPoints), params);
+    }
+
     /**
      * There exists at least one set of two data points, (X[i],Y[i]) and (X[j],Y[j]), separated by
      * exactly G PTS consecutive intervening points, such that X[j] - X[i] < 0. (where i < j ) The
      * condition is not met when NUMPOINTS < 3.
      * 1 ≤G PTS ≤NUMPOINTS−2
      *
-     * @param numPoints the size of the points array (integer)
-     * @param points the array of data points (Point[])
+     * @param track the data points
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code gPts}).
      * @return true if the condition is met, false otherwise
     */
-    public boolean Lic11(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic11(Track track, Parameters params) {
+        int numPoints = track.size();
         int gPts = params.gPts();
         if(gPts < 1 || gPts > numPoints - 2 || numPoints < 3)
             return false;
 
+        if (isChunked(track)) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.any(pool, numPoints - gPts - 1, (from, to) ->
+                        VectorKernels.anyXDecrease(arrays.xs(), gPts + 1, from, to));
+            }
+            return WindowSearch.any(pool, track, gPts + 1, slice -> SEQUENTIAL.Lic11(slice, params));
+        }
+
+        if (VECTOR_API && track instanceof ArrayTrack arrays) {
+            return VectorKernels.anyXDecrease(arrays.xs(), gPts + 1, 0, numPoints - gPts - 1);
+        }
+
         for(int i=0; i<numPoints-gPts-1; i++)
-            if(points[i+gPts+1].x() - points[i].x() < 0)
+            if(track.x(i+gPts+1) - track.x(i) < 0)
                 return true;
         return false;
     }
-    
+
     /**
-     * Checks if there exists at least one pair of data points separated by K_PTS 
-     * that are a distance greater than LENGTH1 apart, and at least one pair 
+     * Point array variant of {@link #Lic11(Track, Parameters)}.
+     *
+     * @param numPoints the size of the points array (integer)
+     * @param points the array of data points (Point[])
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code gPts}).
+     * @return true if the condition is met, false otherwise
+    */
+    public boolean Lic11(int numPoints, Point[] points, Parameters params) {
+        return Lic11(Track.of(points, numPoints), params);
+    }
+
+    /**
+     * Checks if there exists at least one pair of data points separated by K_PTS
+     * that are a distance greater than LENGTH1 apart, and at least one pair
      * separated by K_PTS that are a distance less than LENGTH2 apart. Both parts
      * must be true for the LIC to be true.
      * <p>The condition is not met when NUMPOINTS is less than 3.</p>
      *
-     * @param numPoints The total number of data points.
-     * @param points        An array containing the (x,y) coordinates for each point.
+     * @param track  the data points.
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code kPts}, {@code length1}, {@code length2}).
      * @return {@code true} if both distance conditions are met; {@code false} otherwise.
      */
-    public boolean Lic12(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic12(Track track, Parameters params) {
+        int numPoints = track.size();
         int kPts = params.kPts();
         double length1 = params.length1();
         double length2 = params.length2();
@@ -441,31 +829,66 @@ public class LicEvaluator {
             return false;
         }
 
-        boolean foundGreater = false;
-        boolean foundLess = false;
+        // dist < length2 exactly when the squared distance is at most this
+        double squaredLength1 = Utils.squaredThreshold(length1);
+        double squaredBelowLength2 = Utils.squaredThreshold(Math.nextDown(length2));
+
+        if (isChunked(track) && kPts >= -1) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.search(pool, numPoints - kPts - 1, BOTH, (from, to) -> VectorKernels.distanceBounds(
+                        arrays.xs(), arrays.ys(), kPts + 1, squaredLength1, squaredBelowLength2, from, to)) == BOTH;
+            }
+            return WindowSearch.search(pool, track, kPts + 1, BOTH,
+                    slice -> distanceBounds(slice, kPts + 1, squaredLength1, squaredBelowLength2)) == BOTH;
+        }
+
+        if (VECTOR_API && track instanceof ArrayTrack arrays && kPts >= -1) {
+            return VectorKernels.distanceBounds(arrays.xs(), arrays.ys(), kPts + 1, squaredLength1, squaredBelowLength2,
+                    0, numPoints - kPts - 1) == BOTH;
+        }
 
-        for(int i = 0; i < numPoints - kPts - 1; i++){
-            Point p1 = points[i];
-            Point p2 = points[i + kPts + 1];
+        return distanceBounds(track, kPts + 1, squaredLength1, squaredBelowLength2) == BOTH;
+    }
 
-            double dist_x = p2.x() - p1.x();
-            double dist_y = p2.y() - p1.y();
+    /**
+     * Looks for both distances of LIC 12 among the pairs of points {@code gap} apart.
+     *
+     * @return {@code ABOVE} if some pair is further apart than LENGTH1, or'ed with {@code BELOW}
+     *         if some pair is closer than LENGTH2; stops as soon as both are found
+     */
+    private static int distanceBounds(Track track, int gap, double squaredLength1, double squaredBelowLength2) {
+        int found = 0;
 
-            double dist = Math.hypot(dist_x, dist_y);
+        for(int i = 0; i < track.size() - gap; i++){
+            double dist_x = track.x(i + gap) - track.x(i);
+            double dist_y = track.y(i + gap) - track.y(i);
 
-            if(dist > length1){
-                foundGreater = true;
+            if(Utils.distanceExceeds(dist_x, dist_y, squaredLength1)){
+                found |= ABOVE;
             }
-            if(dist < length2){
-                foundLess = true;
+            if(Utils.distanceWithin(dist_x, dist_y, squaredBelowLength2)){
+                found |= BELOW;
             }
 
-            if(foundGreater && foundLess){
-                return true;
+            if(found == BOTH){
+                break;
             }
         }
 
-        return false;
+        return found;
+    }
+
+    /**
+     * Point array variant of {@link #Lic12(Track, Parameters)}.
+     *
+     * @param numPoints The total number of data points.
+     * @param points        An array containing the (x,y) coordinates for each point.
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code kPts}, {@code length1}, {@code length2}).
+     * @return {@code true} if both distance conditions are met; {@code false} otherwise.
+     */
+    public boolean Lic12(int numPoints, Point[] points, Parameters params) {
+        return Lic12(Track.of(points, numPoints), params);
     }
 
     /**
@@ -476,98 +899,266 @@ public class LicEvaluator {
      * and B_PTS consecutive intervening points, respectively, that can be contained in or on a
      * circle of radius RADIUS2. Both parts must be true for the LIC to be true. The condition is
      * not met when NUMPOINTS < 5.
-     * 
-     * @param numPoints The number of points in the array.
-     * @param points the array of data points.
+     *
+     * @param track the data points.
      * @param params a Parameters object containing the parameter values used for the
      *               evaluation ({@code aPts}, {@code bPts}, {@code radius1}, {@code radius2}).
      * @return true if the conditions of LIC13 are satisfied (see above); false otherwise.
      */
-    public boolean Lic13(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic13(Track track, Parameters params) {
+        int numPoints = track.size();
         int aPts = params.aPts(), bPts = params.bPts();
         double radius1 = params.radius1();
         double radius2 = params.radius2();
         if (numPoints < 5 || aPts < 1 || bPts < 1 || aPts+bPts > numPoints-3 || radius1 < 0 || radius2 < 0) { return false; }
 
-        boolean foundCan = false;
-        boolean foundCannot = false;
+        double squaredRadius1 = Utils.squaredThreshold(radius1);
+        double squaredRadius2 = Utils.squaredThreshold(radius2);
 
-        for (int i = 0; i < numPoints-aPts-bPts-2; i++) {
-            Point p1 = points[i], p2 = points[i+aPts+1], p3 = points[i + aPts+1 + bPts+1];
+        if (isChunked(track)) {
+            return WindowSearch.search(pool, track, aPts + bPts + 2, BOTH,
+                    slice -> radiusBounds(slice, aPts, bPts, squaredRadius1, squaredRadius2)) == BOTH;
+        }
+
+        return radiusBounds(track, aPts, bPts, squaredRadius1, squaredRadius2) == BOTH;
+    }
+
+    /**
+     * Looks for both circles of LIC 13 among the sets of three points separated by {@code aPts}
+     * and {@code bPts} points.
+     *
+     * @return {@code ABOVE} if some set does not fit in a circle of RADIUS1, or'ed with
+     *         {@code BELOW} if some set fits in a circle of RADIUS2; stops as soon as both are found
+     */
+    private static int radiusBounds(Track track, int aPts, int bPts, double squaredRadius1, double squaredRadius2) {
+        int found = 0;
+
+        for (int i = 0; i < track.size()-aPts-bPts-2 && found != BOTH; i++) {
+            int j = i+aPts+1, k = i + aPts+1 + bPts+1;
 
-            double radius = Utils.getCircleRadius(p1, p2, p3);
+            double squaredRadius = Utils.getSquaredCircleRadius(
+                    track.x(i), track.y(i), track.x(j), track.y(j), track.x(k), track.y(k));
 
-            if (radius > radius1) { foundCannot = true; }
-            if (radius <= radius2) {foundCan = true; }
+            if (squaredRadius > squaredRadius1) { found |= ABOVE; }
+            if (squaredRadius <= squaredRadius2) { found |= BELOW; }
         }
 
-        if (foundCan && foundCannot) { return true; }
+        return found;
+    }
 
-        return false;
+    /**
+     * Point array variant of {@link #Lic13(Track, Parameters)}.
+     *
+     * @param numPoints The number of points in the array.
+     * @param points the array of data points.
+     * @param params a Parameters object containing the parameter values used for the
+     *               evaluation ({@code aPts}, {@code bPts}, {@code radius1}, {@code radius2}).
+     * @return true if the conditions of LIC13 are satisfied (see above); false otherwise.
+     */
+    public boolean Lic13(int numPoints, Point[] points, Parameters params) {
+        return Lic13(Track.of(points, numPoints), params);
     }
 
     /**
      * Checks if:
-     * 1) There exists at least 1 set of 3 data points, separated by exactly e_pts and f_pts 
+     * 1) There exists at least 1 set of 3 data points, separated by exactly e_pts and f_pts
      *    consecutive intervening points, respectively, that make up a triangle with area greater than area1.
-     * 2) There exists 3 data points (same as in req 1) or different) , separated by exactly 
+     * 2) There exists 3 data points (same as in req 1) or different) , separated by exactly
      *    e_pts and f_pts intervening points, that make up a triangle with area less than area2.
      * Both requirements must be true for function to return true.
      * (The condition is not met if numpoints < 5).
      * @return
      */
-    public boolean Lic14(int numPoints, Point[] points, Parameters params) {
+    public boolean Lic14(Track track, Parameters params) {
+        int numPoints = track.size();
         double area1 = params.area1();
         double area2 = params.area2();
         int e_pts = params.ePts();
         int f_pts = params.fPts();
 
         if(!(numPoints >= 5 && area1 >= 0 && area2 >= 0 && e_pts >= 1 && f_pts >= 1)) return false;
-        
-        boolean isGreaterThanArea1 = false;
-        boolean isLessThanArea2 = false;
 
-        for(int i = 0; i < numPoints - (e_pts + f_pts + 2); i++) {
-            Point p1 = points[i];
-            Point p2 = points[i + e_pts + 1];
-            Point p3 = points[i + e_pts + f_pts + 2];
+        if (isChunked(track)) {
+            if (VECTOR_API && track instanceof ArrayTrack arrays) {
+                return WindowSearch.search(pool, numPoints - e_pts - f_pts - 2, BOTH, (from, to) ->
+                        VectorKernels.areaBounds(arrays.xs(), arrays.ys(), e_pts, f_pts, area1, area2, from, to)) == BOTH;
+            }
+            return WindowSearch.search(pool, track, e_pts + f_pts + 2, BOTH,
+                    slice -> areaBounds(slice, e_pts, f_pts, area1, area2)) == BOTH;
+        }
+
+        if (VECTOR_API && track instanceof ArrayTrack arrays) {
+            return VectorKernels.areaBounds(arrays.xs(), arrays.ys(), e_pts, f_pts, area1, area2,
+                    0, numPoints - e_pts - f_pts - 2) == BOTH;
+        }
+
+        return areaBounds(track, e_pts, f_pts, area1, area2) == BOTH;
+    }
+
+    /**
+     * Looks for both triangles of LIC 14 among the sets of three points separated by
+     * {@code e_pts} and {@code f_pts} points.
+     *
+     * @return {@code ABOVE} if some triangle has an area greater than AREA1, or'ed with
+     *         {@code BELOW} if some triangle has an area less than AREA2; stops as soon as both are found
+     */
+    private static int areaBounds(Track track, int e_pts, int f_pts, double area1, double area2) {
+        int found = 0;
 
-            double area = Utils.getTriangleArea(p1, p2, p3);
+        for(int i = 0; i < track.size() - (e_pts + f_pts + 2); i++) {
+            int j = i + e_pts + 1;
+            int k = i + e_pts + f_pts + 2;
+
+            double x1 = track.x(i), y1 = track.y(i), x2 = track.x(j), y2 = track.y(j), x3 = track.x(k), y3 = track.y(k);
             // check each iteration
-            if (Utils.doubleCompare(area, area1) == CompType.GT) isGreaterThanArea1 = true;
-            if (Utils.doubleCompare(area, area2) == CompType.LT) isLessThanArea2 = true;
+            if (Utils.areaExceeds(x1, y1, x2, y2, x3, y3, area1)) found |= ABOVE;
+            if (Utils.areaBelow(x1, y1, x2, y2, x3, y3, area2)) found |= BELOW;
             // as soon as both condition are found
-            if (isGreaterThanArea1 && isLessThanArea2) return true;
+            if (found == BOTH) break;
         }
 
-        return false;
+        return found;
     }
-    
+
+    /**
+     * Point array variant of {@link #Lic14(Track, Parameters)}.
+     * @return
+     */
+    public boolean Lic14(int numPoints, Point[] points, Parameters params) {
+        return Lic14(Track.of(points, numPoints), params);
+    }
+
     /**
     * Returns an array of boolean values indicating whether each of the 15 LICs is satisfied.
     *
+    * @param  track  the data points
+     * @param params a Parameters object containing the parameter values used for LIC evaluation.
+    * @return      an array of boolean values where each index corresponds to a LIC (0-14)
+    */
+    public boolean[] evaluateLics(Track track, Parameters params) {
+        boolean results[] = new boolean[15];
+        results[0] = Lic0(track, params);
+        results[1] = Lic1(track, params);
+        results[2] = Lic2(track, params);
+        results[3] = Lic3(track, params);
+        results[4] = Lic4(track, params);
+        results[5] = Lic5(track);
+        results[6] = Lic6(track, params);
+        results[7] = Lic7(track, params);
+        results[8] = Lic8(track, params);
+        results[9] = Lic9(track, params);
+        results[10] = Lic10(track, params);
+        results[11] = Lic11(track, params);
+        results[12] = Lic12(track, params);
+        results[13] = Lic13(track, params);
+        results[14] = Lic14(track, params);
+        return results;
+    }
+
+    /**
+     * Returns the same CMV as {@link #evaluateLics(Track, Parameters)}, with the LICs evaluated
+     * concurrently on an executor.
+     *
+     * <p>The LICs are grouped by their predicted cost, which depends on the number of data points
+     * and the window offsets: an expensive LIC is a task of its own, while cheap LICs share a
+     * task, and all LICs of a small track are evaluated on the calling thread. The calling thread
+     * evaluates the most expensive group itself and then waits for the others.</p>
+     *
+     * @param track the data points
+     * @param params a Parameters object containing the parameter values used for LIC evaluation.
+     * @param executor runs the groups of LICs, for example a {@link ForkJoinPool} or
+     *                 {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}
+     * @return an array of boolean values where each index corresponds to a LIC (0-14)
+     */
+    public boolean[] evaluateLics(Track track, Parameters params, Executor executor) {
+        int[] groups = LicSchedule.groups(track.size(), params);
+        boolean[] results = new boolean[15];
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[groups.length - 1];
+        for (int i = 1; i < groups.length; i++) {
+            int group = groups[i];
+            tasks[i - 1] = CompletableFuture.runAsync(() -> evaluateLics(track, params, group, results), executor);
+        }
+        evaluateLics(track, params, groups[0], results);
+
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates the LICs of a group into their entries of the CMV.
+     */
+    private void evaluateLics(Track track, Parameters params, int group, boolean[] results) {
+        for (int lic = 0; lic < 15; lic++) {
+            if ((group & (1 << lic)) != 0) {
+                results[lic] = evaluateLic(lic, track, params);
+            }
+        }
+    }
+
+    /**
+     * Evaluates one LIC by its number.
+     *
+     * @param lic the number of the LIC, 0-14
+     * @param track the data points
+     * @param params a Parameters object containing the parameter values used for LIC evaluation.
+     * @return whether the LIC is satisfied
+     * @throws IllegalArgumentException if there is no such LIC
+     */
+    public boolean evaluateLic(int lic, Track track, Parameters params) {
+        return switch (lic) {
+            case 0 -> Lic0(track, params);
+            case 1 -> Lic1(track, params);
+            case 2 -> Lic2(track, params);
+            case 3 -> Lic3(track, params);
+            case 4 -> Lic4(track, params);
+            case 5 -> Lic5(track);
+            case 6 -> Lic6(track, params);
+            case 7 -> Lic7(track, params);
+            case 8 -> Lic8(track, params);
+            case 9 -> Lic9(track, params);
+            case 10 -> Lic10(track, params);
+            case 11 -> Lic11(track, params);
+            case 12 -> Lic12(track, params);
+            case 13 -> Lic13(track, params);
+            case 14 -> Lic14(track, params);
+            default -> throw new IllegalArgumentException("There is no LIC " + lic + ".");
+        };
+    }
+
+    /**
+     * Returns the same CMV as {@link #evaluateLics(Track, Parameters)}, computed in a single pass
+     * over the track instead of one pass per LIC. Each data point is read once, the geometry that
+     * several LICs depend on is computed once per window, and the pass stops as soon as every
+     * LIC that can be satisfied by a track of this length has been satisfied.
+     *
+     * @param track the data points
+     * @param params a Parameters object containing the parameter values used for LIC evaluation.
+     * @return an array of boolean values where each index corresponds to a LIC (0-14)
+     */
+    public boolean[] evaluateLicsFused(Track track, Parameters params) {
+        LicSweep sweep = new LicSweep(params);
+        sweep.sweep(track);
+        boolean[] results = new boolean[15];
+        sweep.evaluate(track.size(), results);
+        return results;
+    }
+
+    /**
+    * Returns an array of boolean values indicating whether each of the 15 LICs is satisfied.
+    * The points are copied into an {@link ArrayTrack} once and shared by all LICs.
+    *
     * @param  numPoints the number of data points
     * @param  points        an array of Point objects representing the data points
      * @param params a Parameters object containing the parameter values used for LIC evaluation.
     * @return      an array of boolean values where each index corresponds to a LIC (0-14)
     */
     public boolean[] evaluateLics(int numPoints, Point[] points, Parameters params) {
-        boolean results[] = new boolean[15];
-        results[0] = Lic0(numPoints, points, params);
-        results[1] = Lic1(numPoints, points, params);
-        results[2] = Lic2(numPoints, points, params);
-        results[3] = Lic3(numPoints, points, params);
-        results[4] = Lic4(numPoints, points, params);
-        results[5] = Lic5(numPoints, points);
-        results[6] = Lic6(numPoints, points, params);
-        results[7] = Lic7(numPoints, points, params);
-        results[8] = Lic8(numPoints, points, params);
-        results[9] = Lic9(numPoints, points, params);
-        results[10] = Lic10(numPoints, points, params);
-        results[11] = Lic11(numPoints, points, params);
-        results[12] = Lic12(numPoints, points, params);
-        results[13] = Lic13(numPoints, points, params);
-        results[14] = Lic14(numPoints, points, params);
-        return results;
+        return evaluateLics(ArrayTrack.copyOf(points, numPoints), params);
     }
 }
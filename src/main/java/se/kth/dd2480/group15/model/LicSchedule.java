@@ -0,0 +1,95 @@
+package se.kth.dd2480.group15.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Groups the 15 LICs into tasks of similar predicted cost, for
+ * {@link LicEvaluator#evaluateLics(Track, Parameters, java.util.concurrent.Executor)}.
+ *
+ * <p>The cost of a LIC is predicted as its number of windows times the work per window, in
+ * units of about one distance computation: circle radii and angles take a square root or a
+ * division more than distances, and LIC 6 measures up to {@code nPts} points per window. A LIC
+ * whose parameters rule out every window costs nothing. LICs predicted to cost at least
+ * {@value #TASK_COST} units get a task of their own; cheaper ones share tasks of about that
+ * cost, so they do not pay more for scheduling than for evaluating. Tracks whose LICs cost less
+ * than that in total are evaluated in a single task.</p>
+ */
+final class LicSchedule {
+
+    /**
+     * The predicted cost below which a LIC is not worth a task of its own: tens of
+     * microseconds, well above the cost of handing a task to an executor.
+     */
+    static final long TASK_COST = 1 << 15;
+
+    /**
+     * The work per window of each LIC, in units of a distance computation.
+     */
+    private static final int[] WINDOW_COST = {1, 4, 4, 2, 2, 1, 1, 1, 4, 4, 2, 1, 1, 4, 2};
+
+    private LicSchedule() {
+    }
+
+    /**
+     * Groups the LICs by predicted cost.
+     *
+     * @param numPoints the number of data points
+     * @param params the parameters of the LICs
+     * @return the groups, bit i set if LIC i belongs to the group, most expensive first; every
+     *         LIC is in exactly one group
+     */
+    static int[] groups(int numPoints, Parameters params) {
+        long[] costs = new long[15];
+        long total = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            costs[lic] = cost(lic, numPoints, params);
+            total += costs[lic];
+        }
+        if (total < TASK_COST) {
+            return new int[] {Evaluator.ALL};
+        }
+
+        // Most expensive first, so that cheap LICs fill up the last groups
+        Integer[] order = new Integer[15];
+        for (int lic = 0; lic < 15; lic++) {
+            order[lic] = lic;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(costs[b], costs[a]));
+
+        List<long[]> groups = new ArrayList<>();
+        int group = 0;
+        long groupCost = 0;
+        for (int lic : order) {
+            group |= 1 << lic;
+            groupCost += costs[lic];
+            if (groupCost >= TASK_COST) {
+                groups.add(new long[] {groupCost, group});
+                group = 0;
+                groupCost = 0;
+            }
+        }
+        if (group != 0) {
+            groups.add(new long[] {groupCost, group});
+        }
+
+        // A group of cheap LICs can add up to more than a single expensive one
+        groups.sort((a, b) -> Long.compare(b[0], a[0]));
+        return groups.stream().mapToInt(g -> (int) g[1]).toArray();
+    }
+
+    /**
+     * Predicts the cost of evaluating a LIC.
+     *
+     * @param lic the number of the LIC, 0-14
+     * @param numPoints the number of data points
+     * @param params the parameters of the LICs
+     * @return the predicted cost, in units of a distance computation
+     */
+    static long cost(int lic, int numPoints, Parameters params) {
+        if (!LicSweep.applies(params, lic, numPoints)) return 0;
+        long perWindow = lic == 6 ? Math.min(params.nPts(), HullTree.MIN_WINDOW) : WINDOW_COST[lic];
+        return perWindow * numPoints;
+    }
+}
@@ -0,0 +1,316 @@
+package se.kth.dd2480.group15.model;
+
+import static se.kth.dd2480.group15.model.LicEvaluator.PI;
+
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * Evaluates all 15 LICs by visiting the data points of a track one index at a time, in order.
+ *
+ * <p>Visiting index {@code i} checks every window of every LIC whose last data point is
+ * {@code i}, reading at most {@link #span()} points back. Because every LIC is existential, a
+ * window condition stays met once a window satisfies it. The remaining requirements of a LIC
+ * only depend on the number of data points and the parameters, and are applied when the result
+ * is read, so a result is always the one the corresponding {@link LicEvaluator} method returns
+ * for the points visited so far.</p>
+ *
+ * <p>LICs that look at the same points share the computed geometry: LICs 7 and 12 the distance
+ * between points {@code kPts} apart, LICs 8 and 13 the circle radius and LICs 10 and 14 the
+ * triangle area.</p>
+ *
+ * <p>When {@link #sweep} visits a whole track, the large windows of LIC 6 are answered from the
+ * convex hulls of their points once enough windows have been scanned to pay for building them,
+ * as in {@link LicEvaluator#Lic6(Track, Parameters)}. Points visited one by one, as streamed by
+ * {@link StreamingLicEvaluator}, are always scanned, O(nPts) per window.</p>
+ */
+final class LicSweep {
+
+    // Bits 0-14 are the window conditions of the LICs with that number. LICs 12, 13 and 14
+    // require a second condition to be met by some window, which is kept in bits 15-17.
+    private static final int LIC12_LESS = 1 << 15;
+    private static final int LIC13_CAN = 1 << 16;
+    private static final int LIC14_LESS = 1 << 17;
+
+    private final Parameters params;
+    private final long span;
+
+    // The squared thresholds of the distance and radius parameters, see Utils.squaredThreshold.
+    private final double squaredLength1;
+    private final double squaredBelowLength2;
+    private final double squaredRadius1;
+    private final double squaredRadius2;
+    private final double squaredDist;
+
+    /**
+     * The window conditions that are checked: those that can be met at all with the given
+     * parameters, further restricted by {@link #sweep} to the LICs that apply to the track.
+     */
+    private int wanted;
+
+    /**
+     * The window conditions met by the windows visited so far.
+     */
+    private int met;
+
+    /**
+     * The number of points per quadrant among the last {@code qPts} visited points (LIC 4).
+     */
+    private final int[] quadrantCounts = new int[4];
+
+    /**
+     * The quadrants with a non-zero count, bit q set for quadrant q.
+     */
+    private int coveredQuads;
+
+    /**
+     * The hulls of LIC 6, built once {@link #sweep} has scanned enough windows, or null.
+     */
+    private HullTree hulls;
+
+    /**
+     * The number of points of the track that {@link #sweep} visits if its LIC 6 windows may be
+     * answered from hulls, or 0 if they are scanned.
+     */
+    private int hullTrackSize;
+
+    /**
+     * @param params the parameters of the LICs
+     */
+    LicSweep(Parameters params) {
+        this.params = params;
+        this.squaredLength1 = Utils.squaredThreshold(params.length1());
+        this.squaredBelowLength2 = Utils.squaredThreshold(Math.nextDown(params.length2()));
+        this.squaredRadius1 = Utils.squaredThreshold(params.radius1());
+        this.squaredRadius2 = Utils.squaredThreshold(params.radius2());
+        this.squaredDist = Utils.squaredThreshold(params.dist());
+
+        int possible = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            if (applies(params, lic, Integer.MAX_VALUE)) possible |= conditions(lic);
+        }
+
+        long span = 2;
+        if (has(possible, bit(4))) span = Math.max(span, params.qPts());
+        if (has(possible, bit(6))) span = Math.max(span, params.nPts() - 1L);
+        if (any(possible, bit(7) | bit(12))) span = Math.max(span, params.kPts() + 1L);
+        if (any(possible, bit(8) | bit(13))) span = Math.max(span, (long) params.aPts() + params.bPts() + 2);
+        if (has(possible, bit(9))) span = Math.max(span, (long) params.cPts() + params.dPts() + 2);
+        if (any(possible, bit(10) | bit(14))) span = Math.max(span, (long) params.ePts() + params.fPts() + 2);
+        if (has(possible, bit(11))) span = Math.max(span, params.gPts() + 1L);
+        this.span = span;
+        this.wanted = possible;
+    }
+
+    /**
+     * @return the largest distance between the index being visited and an index it reads
+     */
+    long span() {
+        return span;
+    }
+
+    /**
+     * Checks the windows of all LICs that end at data point {@code i}. Must be called for
+     * {@code i = 0, 1, 2, ...} in order; points {@code i - span()} to {@code i} must be readable.
+     *
+     * @param track the data points
+     * @param i the index of the data point to visit
+     */
+    void visit(Track track, int i) {
+        int pending = wanted & ~met;
+        if (pending == 0) return;
+
+        double x = track.x(i), y = track.y(i);
+
+        if (i >= 1) {
+            double dist_x = x - track.x(i-1);
+            if (has(pending, bit(0))) {
+                double dist_y = y - track.y(i-1);
+                if (Utils.distanceExceeds(dist_x, dist_y, squaredLength1)) met |= bit(0);
+            }
+            if (has(pending, bit(5)) && dist_x < 0) met |= bit(5);
+        }
+
+        if (i >= 2) {
+            if (has(pending, bit(1)) && squaredCircleRadius(track, i-2, i-1, i) > squaredRadius1) met |= bit(1);
+            if (has(pending, bit(2)) && LicEvaluator.isAngleOutsideBand(track, i-2, i-1, i, params.angleCosineBound())) met |= bit(2);
+            if (has(pending, bit(3)) && Utils.areaExceeds(track.x(i-2), track.y(i-2), track.x(i-1), track.y(i-1), x, y, params.area1())) {
+                met |= bit(3);
+            }
+        }
+
+        if (has(pending, bit(4))) visitLic4(track, i);
+        if (has(pending, bit(6))) visitLic6(track, i);
+
+        // LICs 7 and 12 share the distance between the points K_PTS apart.
+        int kGap = params.kPts() + 1;
+        if (i >= kGap && any(pending, bit(7) | bit(12) | LIC12_LESS)) {
+            double dist_x = x - track.x(i-kGap);
+            double dist_y = y - track.y(i-kGap);
+            if (Utils.distanceExceeds(dist_x, dist_y, squaredLength1)) met |= pending & (bit(7) | bit(12));
+            if (Utils.distanceWithin(dist_x, dist_y, squaredBelowLength2)) met |= pending & LIC12_LESS;
+        }
+
+        // LICs 8 and 13 share the radius of the points A_PTS and B_PTS apart.
+        int first = i - params.aPts() - params.bPts() - 2;
+        if (first >= 0 && any(pending, bit(8) | bit(13) | LIC13_CAN)) {
+            double squaredRadius = squaredCircleRadius(track, first, i - params.bPts() - 1, i);
+            if (squaredRadius > squaredRadius1) met |= pending & (bit(8) | bit(13));
+            if (squaredRadius <= squaredRadius2) met |= pending & LIC13_CAN;
+        }
+
+        first = i - params.cPts() - params.dPts() - 2;
+        if (first >= 0 && has(pending, bit(9))
+                && LicEvaluator.isAngleOutsideBand(track, first, i - params.dPts() - 1, i, params.angleCosineBound())) {
+            met |= bit(9);
+        }
+
+        // LICs 10 and 14 share the area of the points E_PTS and F_PTS apart.
+        first = i - params.ePts() - params.fPts() - 2;
+        if (first >= 0 && any(pending, bit(10) | bit(14) | LIC14_LESS)) {
+            int middle = i - params.fPts() - 1;
+            double first_x = track.x(first), first_y = track.y(first);
+            double middle_x = track.x(middle), middle_y = track.y(middle);
+            if (Utils.areaExceeds(first_x, first_y, middle_x, middle_y, x, y, params.area1())) met |= pending & (bit(10) | bit(14));
+            if (Utils.areaBelow(first_x, first_y, middle_x, middle_y, x, y, params.area2())) met |= pending & LIC14_LESS;
+        }
+
+        int gGap = params.gPts() + 1;
+        if (i >= gGap && has(pending, bit(11)) && x - track.x(i-gGap) < 0) met |= bit(11);
+    }
+
+    /**
+     * Visits all data points of a track, stopping as soon as every LIC that can be satisfied by
+     * a track of this length has been satisfied. Must be called on a new sweep.
+     *
+     * @param track the data points
+     */
+    void sweep(Track track) {
+        int numPoints = track.size();
+        int needed = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            if (applies(params, lic, numPoints)) needed |= conditions(lic);
+        }
+        wanted &= needed;
+        if (params.nPts() >= HullTree.MIN_WINDOW) hullTrackSize = numPoints;
+
+        for (int i = 0; i < numPoints && (met & wanted) != wanted; i++) {
+            visit(track, i);
+        }
+    }
+
+    private void visitLic4(Track track, int i) {
+        int qPts = params.qPts();
+        int entering = LicEvaluator.quadrant(track.x(i), track.y(i));
+        if (quadrantCounts[entering]++ == 0) coveredQuads |= 1 << entering;
+        if (i >= qPts) {
+            int leaving = LicEvaluator.quadrant(track.x(i-qPts), track.y(i-qPts));
+            if (--quadrantCounts[leaving] == 0) coveredQuads &= ~(1 << leaving);
+        }
+        if (i >= qPts - 1 && Integer.bitCount(coveredQuads) > params.quads()) met |= bit(4);
+    }
+
+    private void visitLic6(Track track, int i) {
+        int nPts = params.nPts();
+        int start = i - nPts + 1;
+        if (start < 0) return;
+
+        // The hulls take about as long to build as scanning the track, so the first windows are scanned
+        if (hulls == null && hullTrackSize > 0 && (long) start * nPts >= hullTrackSize) {
+            hulls = HullTree.of(track, nPts - 2);
+            if (hulls == null) hullTrackSize = 0;
+        }
+        boolean farther = hulls != null
+                ? hulls.isFartherFromLine(start, i, params.dist(), squaredDist)
+                : LicEvaluator.isFartherFromLine(track, start, i, params.dist(), squaredDist);
+        if (farther) {
+            met |= bit(6);
+        }
+    }
+
+    /**
+     * Returns whether a LIC is satisfied by the first {@code numPoints} data points, all of
+     * which must have been visited.
+     *
+     * @param lic the number of the LIC, 0-14
+     * @param numPoints the number of data points visited
+     * @return the value of the LIC for those data points
+     */
+    boolean isSatisfied(int lic, int numPoints) {
+        return applies(params, lic, numPoints) && has(met, conditions(lic));
+    }
+
+    /**
+     * Returns whether the requirements of a LIC on its parameters and on the number of data
+     * points hold, that is, whether the corresponding {@link LicEvaluator} method looks at its
+     * windows at all. LIC 12 with {@code kPts < -1}, for which {@link LicEvaluator} reads
+     * before the start of the track, is taken not to apply.
+     *
+     * @param params the parameters of the LICs
+     * @param lic the number of the LIC, 0-14
+     * @param n the number of data points
+     * @return whether the LIC can be satisfied by some window
+     */
+    static boolean applies(Parameters params, int lic, int n) {
+        double epsilon = params.epsilon();
+        return switch (lic) {
+            case 0, 5 -> true;
+            case 1 -> n >= 3 && params.radius1() >= 0;
+            case 2 -> n >= 3 && epsilon >= 0 && epsilon < PI;
+            case 3 -> n >= 3 && params.area1() >= 0;
+            case 4 -> params.qPts() >= 2 && params.qPts() <= n && params.quads() >= 1 && params.quads() <= 3;
+            case 6 -> params.nPts() >= 3 && params.nPts() <= n && params.dist() >= 0;
+            case 7 -> n >= 3 && params.kPts() >= 1 && params.kPts() <= n - 2;
+            case 8 -> n >= 5 && params.aPts() >= 1 && params.bPts() >= 1
+                    && params.aPts() + params.bPts() <= n - 3 && params.radius1() >= 0;
+            case 9 -> n >= 5 && params.cPts() >= 1 && params.dPts() >= 1
+                    && params.cPts() + params.dPts() <= n - 3 && epsilon >= 0 && epsilon < PI;
+            case 10 -> n >= 5 && params.ePts() >= 1 && params.fPts() >= 1 && params.ePts() + params.fPts() <= n - 3;
+            case 11 -> n >= 3 && params.gPts() >= 1 && params.gPts() <= n - 2;
+            case 12 -> n >= 3 && params.length2() >= 0 && params.kPts() >= -1;
+            case 13 -> n >= 5 && params.aPts() >= 1 && params.bPts() >= 1
+                    && params.aPts() + params.bPts() <= n - 3 && params.radius1() >= 0 && params.radius2() >= 0;
+            case 14 -> n >= 5 && params.area1() >= 0 && params.area2() >= 0 && params.ePts() >= 1 && params.fPts() >= 1;
+            default -> throw new IllegalArgumentException("There is no LIC " + lic + ".");
+        };
+    }
+
+    /**
+     * Returns the window conditions that must all have been met for a LIC to be satisfied.
+     */
+    private static int conditions(int lic) {
+        return switch (lic) {
+            case 12 -> bit(12) | LIC12_LESS;
+            case 13 -> bit(13) | LIC13_CAN;
+            case 14 -> bit(14) | LIC14_LESS;
+            default -> bit(lic);
+        };
+    }
+
+    /**
+     * Fills a CMV with the values of all LICs for the first {@code numPoints} data points.
+     *
+     * @param numPoints the number of data points visited
+     * @param CMV the array to fill, of length 15
+     */
+    void evaluate(int numPoints, boolean[] CMV) {
+        for (int lic = 0; lic < 15; lic++) {
+            CMV[lic] = isSatisfied(lic, numPoints);
+        }
+    }
+
+    private static double squaredCircleRadius(Track track, int i, int j, int k) {
+        return Utils.getSquaredCircleRadius(track.x(i), track.y(i), track.x(j), track.y(j), track.x(k), track.y(k));
+    }
+
+    private static int bit(int lic) {
+        return 1 << lic;
+    }
+
+    private static boolean has(int bits, int mask) {
+        return (bits & mask) == mask;
+    }
+
+    private static boolean any(int bits, int mask) {
+        return (bits & mask) != 0;
+    }
+}
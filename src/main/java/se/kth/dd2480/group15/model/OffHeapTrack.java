@@ -0,0 +1,131 @@
+package se.kth.dd2480.group15.model;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link Track} whose coordinates live outside the Java heap, in a {@link MemorySegment}.
+ *
+ * <p>Coordinates are little-endian {@code double}s; the x-coordinate of data point {@code i}
+ * is at byte offset {@code xOffset + i * stride} of the segment and the y-coordinate at
+ * {@code yOffset + i * stride}. Tracks created by {@link #allocate} store the coordinates as two
+ * contiguous columns, while {@link #wrap} can describe both columnar and interleaved memory,
+ * for example a memory-mapped file.</p>
+ *
+ * <p>The memory is owned by the {@link Arena} the segment was allocated or mapped in: it is not
+ * managed by the garbage collector, and it is released when the arena is closed, after which any
+ * access to the track throws {@link IllegalStateException}.</p>
+ */
+public final class OffHeapTrack implements Track {
+    private static final ValueLayout.OfDouble COORDINATE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final MemorySegment segment;
+    private final long xOffset;
+    private final long yOffset;
+    private final long stride;
+    private final int size;
+
+    private OffHeapTrack(MemorySegment segment, long xOffset, long yOffset, long stride, int size) {
+        this.segment = segment;
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+        this.stride = stride;
+        this.size = size;
+    }
+
+    /**
+     * Allocates a track of {@code size} data points, all initially at (0, 0).
+     *
+     * @param arena the arena that owns the memory of the track
+     * @param size the number of data points
+     * @return the allocated track
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public static OffHeapTrack allocate(Arena arena, int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Track size cannot be negative.");
+        }
+        long columnSize = size * COORDINATE.byteSize();
+        MemorySegment segment = arena.allocate(2 * columnSize, COORDINATE.byteAlignment());
+        return new OffHeapTrack(segment, 0, columnSize, COORDINATE.byteSize(), size);
+    }
+
+    /**
+     * Creates a track over coordinates that are already in memory. Nothing is copied, and the
+     * track is read-only if the segment is.
+     *
+     * @param segment the memory holding the coordinates
+     * @param size the number of data points
+     * @param xOffset the byte offset of the x-coordinate of the first data point
+     * @param yOffset the byte offset of the y-coordinate of the first data point
+     * @param stride the number of bytes between the coordinates of two consecutive data points
+     * @return a track over the segment
+     * @throws IllegalArgumentException if the described coordinates are not aligned to 8 bytes
+     *         or do not fit in the segment
+     */
+    public static OffHeapTrack wrap(MemorySegment segment, int size, long xOffset, long yOffset, long stride) {
+        long coordinateSize = COORDINATE.byteSize();
+        if (size < 0 || xOffset < 0 || yOffset < 0 || stride < coordinateSize) {
+            throw new IllegalArgumentException("Invalid track layout.");
+        }
+        if ((segment.address() + xOffset) % coordinateSize != 0
+                || (segment.address() + yOffset) % coordinateSize != 0
+                || stride % coordinateSize != 0) {
+            throw new IllegalArgumentException("Coordinates must be aligned to " + coordinateSize + " bytes.");
+        }
+        long span = size == 0 ? 0 : (size - 1) * stride + coordinateSize;
+        if (xOffset + span > segment.byteSize() || yOffset + span > segment.byteSize()) {
+            throw new IllegalArgumentException("Coordinates do not fit in the segment.");
+        }
+        return new OffHeapTrack(segment, xOffset, yOffset, stride, size);
+    }
+
+    /**
+     * Allocates a track holding a copy of the data points of another track.
+     *
+     * @param arena the arena that owns the memory of the new track
+     * @param track the track to copy
+     * @return the allocated track
+     */
+    public static OffHeapTrack copyOf(Arena arena, Track track) {
+        OffHeapTrack copy = allocate(arena, track.size());
+        if (track instanceof ArrayTrack arrayTrack) {
+            MemorySegment.copy(arrayTrack.xs(), 0, copy.segment, COORDINATE, copy.xOffset, copy.size);
+            MemorySegment.copy(arrayTrack.ys(), 0, copy.segment, COORDINATE, copy.yOffset, copy.size);
+        } else {
+            for (int i = 0; i < copy.size; i++) {
+                copy.set(i, track.x(i), track.y(i));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Overwrites the coordinates of a data point.
+     *
+     * @param i the index of the data point, {@code 0 <= i < size()}
+     * @param x the new x-coordinate
+     * @param y the new y-coordinate
+     */
+    public void set(int i, double x, double y) {
+        segment.set(COORDINATE, xOffset + i * stride, x);
+        segment.set(COORDINATE, yOffset + i * stride, y);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double x(int i) {
+        return segment.get(COORDINATE, xOffset + i * stride);
+    }
+
+    @Override
+    public double y(int i) {
+        return segment.get(COORDINATE, yOffset + i * stride);
+    }
+}
@@ -0,0 +1,82 @@
+package se.kth.dd2480.group15.model;
+
+import java.util.Arrays;
+
+/**
+ * A Logical Connector Matrix (LCM) stored as three bit masks per row: bit {@code j} of
+ * {@link #andd(int) andd(i)}, {@link #orr(int) orr(i)} or {@link #notUsed(int) notUsed(i)} is
+ * set if LCM[i][j] is the corresponding connector. A missing ({@code null}) connector sets none
+ * of the three, which makes its PUM entry false, as in
+ * {@link Evaluator#evaluatePUM(Connectors[][], boolean[])}.
+ *
+ * <p>With the CMV packed into an int as well, a whole PUM row is a few bitwise operations;
+ * see {@link Evaluator#evaluatePUM(PackedLcm, int, int)}.</p>
+ */
+public final class PackedLcm {
+    private final int[] andd = new int[15];
+    private final int[] orr = new int[15];
+    private final int[] notUsed = new int[15];
+
+    private PackedLcm() {
+    }
+
+    /**
+     * Packs a 15x15 connector matrix.
+     *
+     * @param LCM the connector matrix, LCM[i][j] defines the connector between LIC i and LIC j
+     * @return the packed matrix
+     */
+    public static PackedLcm of(Connectors[][] LCM) {
+        PackedLcm packed = new PackedLcm();
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                if (LCM[i][j] == Connectors.ANDD)
+                    packed.andd[i] |= 1 << j;
+                else if (LCM[i][j] == Connectors.ORR)
+                    packed.orr[i] |= 1 << j;
+                else if (LCM[i][j] == Connectors.NOTUSED)
+                    packed.notUsed[i] |= 1 << j;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * @param i the row
+     * @return the columns of row {@code i} connected by ANDD
+     */
+    public int andd(int i) {
+        return andd[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the columns of row {@code i} connected by ORR
+     */
+    public int orr(int i) {
+        return orr[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the columns of row {@code i} that are NOTUSED
+     */
+    public int notUsed(int i) {
+        return notUsed[i];
+    }
+
+    /**
+     * Two packed matrices are equal if they have the same connector in every entry.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PackedLcm other)) return false;
+        return Arrays.equals(andd, other.andd) && Arrays.equals(orr, other.orr) && Arrays.equals(notUsed, other.notUsed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(andd) + Arrays.hashCode(orr)) + Arrays.hashCode(notUsed);
+    }
+}
@@ -0,0 +1,303 @@
+package se.kth.dd2480.group15.model;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import se.kth.dd2480.group15.utils.CompType;
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * Evaluates one track against many sets of parameters, for example a grid of LENGTH1 and
+ * RADIUS1 values when tuning.
+ *
+ * <p>Every LIC asks whether some window satisfies a threshold comparison, and which windows
+ * exist only depends on the window offsets of the parameters ({@code kPts}, {@code aPts} and
+ * {@code bPts}, ...). For each distinct offset the geometry of all windows is computed once and
+ * reduced to its extrema: a LIC asking for a distance greater than LENGTH1 holds exactly when
+ * the largest distance is greater than LENGTH1. Each set of parameters is then answered with a
+ * few comparisons. Extrema are computed on first use and shared by all threads: the first thread
+ * to ask for them registers a future and computes them outside the map, and threads that ask
+ * for the same extrema in the meantime wait for that future.</p>
+ *
+ * <p>LICs that measure the same quantity share their extrema: LIC 1 uses the circle radii of
+ * LIC 8 with {@code aPts = bPts = 0}, LIC 0 the distances of LIC 7 with {@code kPts = 0}, and
+ * so on. Distances and radii are kept squared and compared against
+ * {@linkplain Utils#squaredThreshold(double) squared thresholds}, as in the LICs.</p>
+ */
+public final class ParameterSweep {
+    private final Track track;
+
+    // Keyed by the offset between consecutive points of a window; pairs of offsets are packed
+    // into a long by pair().
+    private final Map<Integer, CompletableFuture<Extrema>> squaredDistances = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Extrema>> xDifferences = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Extrema>> squaredRadii = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Extrema>> angleCosines = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Extrema>> areas = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Extrema>> lineDistances = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Integer>> quadrants = new ConcurrentHashMap<>();
+
+    /**
+     * @param track the data points, which must not change while the sweep is in use
+     */
+    public ParameterSweep(Track track) {
+        this.track = track;
+    }
+
+    /**
+     * Computes the CMV for one set of parameters.
+     *
+     * @param params the parameters of the LICs
+     * @return the CMV, bit i set if LIC i is satisfied; equal to the packed
+     *         {@link LicEvaluator#evaluateLics(Track, Parameters)}
+     */
+    public int cmv(Parameters params) {
+        return cmv(params, Evaluator.ALL);
+    }
+
+    /**
+     * Decides every set of parameters of a grid, in parallel.
+     *
+     * @param grid the sets of parameters
+     * @param policy the compiled LCM and PUV; only the LICs in its support are evaluated
+     * @return bit {@code i} set if the parameters at index {@code i} lead to a launch
+     */
+    public BitSet decideAll(List<Parameters> grid, CompiledPolicy policy) {
+        int support = policy.support();
+        return IntStream.range(0, grid.size())
+                .parallel()
+                .filter(i -> policy.launch(cmv(grid.get(i), support)))
+                .collect(BitSet::new, BitSet::set, BitSet::or);
+    }
+
+    /**
+     * Decides every set of parameters of a grid, in parallel.
+     *
+     * @param grid the sets of parameters
+     * @param LCM the Logical Connector Matrix
+     * @param PUV the Preliminary Unlocking Vector
+     * @return bit {@code i} set if the parameters at index {@code i} lead to a launch
+     */
+    public BitSet decideAll(List<Parameters> grid, Connectors[][] LCM, boolean[] PUV) {
+        return decideAll(grid, CompiledPolicy.compile(LCM, PUV));
+    }
+
+    private int cmv(Parameters params, int lics) {
+        int n = track.size();
+        int CMV = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            if ((lics & (1 << lic)) != 0 && LicSweep.applies(params, lic, n) && isSatisfied(params, lic)) {
+                CMV |= 1 << lic;
+            }
+        }
+        return CMV;
+    }
+
+    private boolean isSatisfied(Parameters params, int lic) {
+        return switch (lic) {
+            case 0 -> squaredDistances(1).max > Utils.squaredThreshold(params.length1());
+            case 1 -> squaredRadii(0, 0).max > Utils.squaredThreshold(params.radius1());
+            case 2 -> isAngleOutsideBand(angleCosines(0, 0), params.angleCosineBound());
+            case 3 -> isGreater(areas(0, 0), params.area1());
+            case 4 -> quadrants(params.qPts()) > params.quads();
+            case 5 -> xDifferences(1).min < 0;
+            case 6 -> lineDistances(params.nPts()).max > params.dist();
+            case 7 -> squaredDistances(params.kPts() + 1).max > Utils.squaredThreshold(params.length1());
+            case 8 -> squaredRadii(params.aPts(), params.bPts()).max > Utils.squaredThreshold(params.radius1());
+            case 9 -> isAngleOutsideBand(angleCosines(params.cPts(), params.dPts()), params.angleCosineBound());
+            case 10 -> isGreater(areas(params.ePts(), params.fPts()), params.area1());
+            case 11 -> xDifferences(params.gPts() + 1).min < 0;
+            case 12 -> {
+                Extrema squaredDistance = squaredDistances(params.kPts() + 1);
+                yield squaredDistance.max > Utils.squaredThreshold(params.length1())
+                        && squaredDistance.min <= Utils.squaredThreshold(Math.nextDown(params.length2()));
+            }
+            case 13 -> {
+                Extrema squaredRadius = squaredRadii(params.aPts(), params.bPts());
+                yield squaredRadius.max > Utils.squaredThreshold(params.radius1())
+                        && squaredRadius.min <= Utils.squaredThreshold(params.radius2());
+            }
+            default -> {
+                Extrema area = areas(params.ePts(), params.fPts());
+                yield isGreater(area, params.area1()) && Utils.doubleCompare(area.min, params.area2()) == CompType.LT;
+            }
+        };
+    }
+
+    /**
+     * Whether some value is greater than {@code threshold} according to
+     * {@link Utils#doubleCompare}, which treats NaN as greater than anything.
+     */
+    private static boolean isGreater(Extrema values, double threshold) {
+        return values.nan || Utils.doubleCompare(values.max, threshold) == CompType.GT;
+    }
+
+    /**
+     * Whether some angle lies outside the band, as by {@link Utils#angleBand}: its cosine is at
+     * least the bound, or NaN.
+     */
+    private static boolean isAngleOutsideBand(Extrema cosines, double cosineBound) {
+        return cosines.nan || cosines.max >= cosineBound;
+    }
+
+    private Extrema squaredDistances(int gap) {
+        return memoize(squaredDistances, gap, () -> reduce(track.size() - gap, i -> {
+            double dist_x = track.x(i + gap) - track.x(i);
+            double dist_y = track.y(i + gap) - track.y(i);
+            return dist_x * dist_x + dist_y * dist_y;
+        }));
+    }
+
+    private Extrema xDifferences(int gap) {
+        return memoize(xDifferences, gap, () -> reduce(track.size() - gap, i -> track.x(i + gap) - track.x(i)));
+    }
+
+    private Extrema squaredRadii(int firstGap, int secondGap) {
+        return memoize(squaredRadii, pair(firstGap, secondGap), () -> reduce(track.size() - firstGap - secondGap - 2, i -> {
+            int j = i + firstGap + 1, k = j + secondGap + 1;
+            return Utils.getSquaredCircleRadius(track.x(i), track.y(i), track.x(j), track.y(j), track.x(k), track.y(k));
+        }));
+    }
+
+    private Extrema angleCosines(int firstGap, int secondGap) {
+        return memoize(angleCosines, pair(firstGap, secondGap), () -> {
+            Extrema cosines = new Extrema();
+            for (int i = 0; i < track.size() - firstGap - secondGap - 2; i++) {
+                int j = i + firstGap + 1, k = j + secondGap + 1;
+                double vx = track.x(j), vy = track.y(j);
+                // The angle is undefined, and never outside the band, if a point coincides with the vertex.
+                if ((track.x(i) == vx && track.y(i) == vy) || (track.x(k) == vx && track.y(k) == vy)) continue;
+                cosines.add(Utils.angleCosine(track.x(i), track.y(i), vx, vy, track.x(k), track.y(k)));
+            }
+            return cosines;
+        });
+    }
+
+    private Extrema areas(int firstGap, int secondGap) {
+        return memoize(areas, pair(firstGap, secondGap), () -> reduce(track.size() - firstGap - secondGap - 2, i -> {
+            int j = i + firstGap + 1, k = j + secondGap + 1;
+            return Utils.getTriangleArea(track.x(i), track.y(i), track.x(j), track.y(j), track.x(k), track.y(k));
+        }));
+    }
+
+    /**
+     * The largest distance of a point inside a window of {@code nPts} points from the line
+     * through the first and last point of the window, as in {@link LicEvaluator#Lic6(Track, Parameters)}.
+     */
+    private Extrema lineDistances(int nPts) {
+        return memoize(lineDistances, nPts, () -> {
+            Extrema distances = new Extrema();
+            for (int start = 0; start + nPts <= track.size(); start++) {
+                int end = start + nPts - 1;
+                double first_x = track.x(start), first_y = track.y(start);
+                double last_x = track.x(end), last_y = track.y(end);
+
+                if (first_x == last_x && first_y == last_y) {
+                    for (int i = start + 1; i < end; i++) {
+                        double dist_x = track.x(i) - first_x;
+                        double dist_y = track.y(i) - first_y;
+                        distances.add(Math.sqrt(dist_x * dist_x + dist_y * dist_y));
+                    }
+                    continue;
+                }
+
+                // The line only depends on the window, so its coefficients are computed once per window.
+                double dy = last_y - first_y;
+                double dx = last_x - first_x;
+                double constant = (last_x * first_y) - (last_y * first_x);
+                double denom = Math.sqrt(dy * dy + dx * dx);
+                for (int i = start + 1; i < end; i++) {
+                    distances.add(Math.abs(dy * track.x(i) + dx * track.y(i) + constant) / denom);
+                }
+            }
+            return distances;
+        });
+    }
+
+    /**
+     * The largest number of quadrants covered by a window of {@code qPts} consecutive points.
+     */
+    private int quadrants(int qPts) {
+        return memoize(quadrants, qPts, () -> {
+            int[] counts = new int[4];
+            int coveredQuads = 0;
+            int max = 0;
+            for (int i = 0; i < track.size(); i++) {
+                int entering = LicEvaluator.quadrant(track.x(i), track.y(i));
+                if (counts[entering]++ == 0) coveredQuads |= 1 << entering;
+                if (i >= qPts) {
+                    int leaving = LicEvaluator.quadrant(track.x(i - qPts), track.y(i - qPts));
+                    if (--counts[leaving] == 0) coveredQuads &= ~(1 << leaving);
+                }
+                if (i >= qPts - 1) max = Math.max(max, Integer.bitCount(coveredQuads));
+            }
+            return max;
+        });
+    }
+
+    /**
+     * Returns the value computed for a key, computing it if no thread has yet. The value is
+     * computed outside the map, so threads that need other keys are not held up; threads that
+     * need the same key wait for the thread computing it. A failed computation is not kept.
+     */
+    private static <K, V> V memoize(Map<K, CompletableFuture<V>> cache, K key, Supplier<V> compute) {
+        CompletableFuture<V> value = cache.get(key);
+        if (value == null) {
+            CompletableFuture<V> computing = new CompletableFuture<>();
+            value = cache.putIfAbsent(key, computing);
+            if (value == null) {
+                try {
+                    V computed = compute.get();
+                    computing.complete(computed);
+                    return computed;
+                } catch (RuntimeException | Error e) {
+                    cache.remove(key, computing);
+                    computing.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static Extrema reduce(int numWindows, IntToDoubleFunction value) {
+        Extrema extrema = new Extrema();
+        for (int i = 0; i < numWindows; i++) {
+            extrema.add(value.applyAsDouble(i));
+        }
+        return extrema;
+    }
+
+    private static long pair(int firstGap, int secondGap) {
+        return ((long) firstGap << 32) | (secondGap & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The smallest and largest value of a quantity over all windows. NaN values are left out
+     * of both, as they fail every {@code <} and {@code >} comparison, but recorded, as
+     * {@link Utils#doubleCompare} considers them greater than anything.
+     */
+    private static final class Extrema {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        boolean nan;
+
+        void add(double value) {
+            if (value < min) min = value;
+            if (value > max) max = value;
+            if (Double.isNaN(value)) nan = true;
+        }
+    }
+}
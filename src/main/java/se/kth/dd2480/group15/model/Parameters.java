@@ -1,5 +1,7 @@
 package se.kth.dd2480.group15.model;
 
+import se.kth.dd2480.group15.utils.Utils;
+
 /**
  * Immutable parameter container for the different parameters used when evaluating the LICs.
  *
@@ -27,6 +29,11 @@ public final class Parameters {
     private final double radius2;
     private final double area2;
 
+    /**
+     * Derived from {@link #epsilon}, see {@link #angleCosineBound()}.
+     */
+    private final double angleCosineBound;
+
     private Parameters(Builder builder) {
         this.length1 = builder.length1;
         this.radius1 = builder.radius1;
@@ -47,6 +54,11 @@ public final class Parameters {
         this.length2 = builder.length2;
         this.radius2 = builder.radius2;
         this.area2 = builder.area2;
+
+        // Outside the band means doubleCompare(angle, PI - epsilon) == LT, that is, an angle at
+        // most PI - epsilon - PRECISION. No angle is that small if the bound is negative.
+        double smallest = LicEvaluator.PI - epsilon - Utils.PRECISION;
+        this.angleCosineBound = smallest < 0 ? Double.POSITIVE_INFINITY : Math.cos(smallest);
     }
 
     /**
@@ -79,6 +91,17 @@ public final class Parameters {
         return epsilon;
     }
 
+    /**
+     * The cosine form of the band of LICs 2 and 9: an angle lies outside PI ± epsilon exactly when
+     * its {@linkplain Utils#angleCosine cosine} is at least this value. Computed once, so that the
+     * LICs need no trigonometry.
+     *
+     * @return the cosine bound for {@link #epsilon}
+     */
+    double angleCosineBound() {
+        return angleCosineBound;
+    }
+
     /**
      * @return area in LICs 3, 10, 14
      */
@@ -190,6 +213,61 @@ public final class Parameters {
     public double area2() {
         return area2;
     }
+
+    /**
+     * Two parameter sets are equal if all their values are. Doubles are compared as by
+     * {@link Double#compare}, as in records, so NaN equals NaN and 0.0 does not equal -0.0.
+     * The derived {@link #angleCosineBound()} follows from {@link #epsilon()} and is not compared.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Parameters other)) return false;
+        return Double.compare(length1, other.length1) == 0
+                && Double.compare(radius1, other.radius1) == 0
+                && Double.compare(epsilon, other.epsilon) == 0
+                && Double.compare(area1, other.area1) == 0
+                && qPts == other.qPts
+                && quads == other.quads
+                && Double.compare(dist, other.dist) == 0
+                && nPts == other.nPts
+                && kPts == other.kPts
+                && aPts == other.aPts
+                && bPts == other.bPts
+                && cPts == other.cPts
+                && dPts == other.dPts
+                && ePts == other.ePts
+                && fPts == other.fPts
+                && gPts == other.gPts
+                && Double.compare(length2, other.length2) == 0
+                && Double.compare(radius2, other.radius2) == 0
+                && Double.compare(area2, other.area2) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(length1);
+        hash = 31 * hash + Double.hashCode(radius1);
+        hash = 31 * hash + Double.hashCode(epsilon);
+        hash = 31 * hash + Double.hashCode(area1);
+        hash = 31 * hash + qPts;
+        hash = 31 * hash + quads;
+        hash = 31 * hash + Double.hashCode(dist);
+        hash = 31 * hash + nPts;
+        hash = 31 * hash + kPts;
+        hash = 31 * hash + aPts;
+        hash = 31 * hash + bPts;
+        hash = 31 * hash + cPts;
+        hash = 31 * hash + dPts;
+        hash = 31 * hash + ePts;
+        hash = 31 * hash + fPts;
+        hash = 31 * hash + gPts;
+        hash = 31 * hash + Double.hashCode(length2);
+        hash = 31 * hash + Double.hashCode(radius2);
+        hash = 31 * hash + Double.hashCode(area2);
+        return hash;
+    }
+
     /**
      * Builder class used for creating a {@link Parameters} object. If a value
      * is not provided for a certain parameter, then its default value is used.
@@ -0,0 +1,36 @@
+package se.kth.dd2480.group15.model;
+
+/**
+ * A {@link Track} view of the first {@code numPoints} elements of a {@link Point} array. The
+ * array is not copied, so creating the view costs nothing, but every coordinate read goes
+ * through a {@code Point}; use {@link ArrayTrack#copyOf(Point[], int)} for a track that many LICs
+ * walk.
+ */
+final class PointArrayTrack implements Track {
+    private final Point[] points;
+    private final int size;
+
+    /**
+     * @param points an array of data points
+     * @param numPoints the number of data points of the track; a negative value yields an empty track
+     */
+    PointArrayTrack(Point[] points, int numPoints) {
+        this.points = points;
+        this.size = Math.max(numPoints, 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double x(int i) {
+        return points[i].x();
+    }
+
+    @Override
+    public double y(int i) {
+        return points[i].y();
+    }
+}
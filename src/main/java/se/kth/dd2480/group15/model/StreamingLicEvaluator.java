@@ -0,0 +1,145 @@
+package se.kth.dd2480.group15.model;
+
+/**
+ * Evaluates the 15 LICs over a track that grows one data point at a time, for example radar
+ * returns arriving from a sensor.
+ *
+ * <p>Each {@link #append} only checks the windows that end at the new data point, so the CMV is
+ * kept current without re-scanning the track. Only the last few data points are kept, in a ring
+ * buffer sized to the largest window of the parameters. Since every LIC asks whether
+ * <em>some</em> window satisfies it, a LIC that has become true stays true.</p>
+ *
+ * <p>Appending costs O(1) per data point for every LIC except LIC 6. Its newest window has a
+ * line of its own, through the first and last point, so nothing computed for the previous
+ * window carries over: until LIC 6 is satisfied, each append checks the {@code nPts - 2} points
+ * inside the window, O(nPts) per data point. Use {@link LicEvaluator}, which shares the hulls of
+ * the points between windows, to evaluate a large {@code nPts} over a stored track. After
+ * {@code n} appends, the CMV is the one {@link LicEvaluator#evaluateLics(Track, Parameters)}
+ * returns for those {@code n} points.</p>
+ *
+ * <p>The number of appends is counted in a {@code long}, so a stream may run for more than
+ * {@link Integer#MAX_VALUE} data points.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class StreamingLicEvaluator {
+
+    /**
+     * The position from which indices are folded, see {@link #index(long)}.
+     */
+    static final int FOLD = 1 << 30;
+
+    private final LicSweep sweep;
+    private final Ring ring;
+
+    /**
+     * @param params the parameters of the LICs
+     * @throws IllegalArgumentException if the windows of the parameters are too large to buffer
+     */
+    public StreamingLicEvaluator(Parameters params) {
+        this.sweep = new LicSweep(params);
+        if (sweep.span() >= FOLD) {
+            throw new IllegalArgumentException("LIC windows are too large to buffer.");
+        }
+        this.ring = new Ring(Integer.highestOneBit((int) sweep.span()) << 1);
+    }
+
+    /**
+     * Adds the next data point of the track and updates the CMV.
+     *
+     * @param x the x-coordinate of the data point
+     * @param y the y-coordinate of the data point
+     */
+    public void append(double x, double y) {
+        ring.append(x, y);
+        sweep.visit(ring, index(ring.appended() - 1));
+    }
+
+    /**
+     * @return the number of data points appended so far
+     */
+    public long size() {
+        return ring.appended();
+    }
+
+    /**
+     * @param lic the number of the LIC, 0-14
+     * @return whether the LIC is satisfied by the data points appended so far
+     * @throws IllegalArgumentException if there is no such LIC
+     */
+    public boolean isSatisfied(int lic) {
+        // A LIC that applies to n points applies to more, so the saturated size gives the same answer
+        return sweep.isSatisfied(lic, ring.size());
+    }
+
+    /**
+     * @return a new CMV for the data points appended so far
+     */
+    public boolean[] cmv() {
+        boolean[] CMV = new boolean[15];
+        sweep.evaluate(ring.size(), CMV);
+        return CMV;
+    }
+
+    /**
+     * Returns the index by which the data point at a position of the track is read from the
+     * ring and visited by the {@link LicSweep}.
+     *
+     * <p>Positions below {@value #FOLD} are their own index. Later ones are folded into
+     * {@code [FOLD, 2 * FOLD)}, keeping their remainder modulo {@code FOLD}. As the capacity of
+     * the ring divides {@code FOLD}, they still address the right slot, and an index minus any
+     * distance up to the span of the sweep, which is less than {@code FOLD}, addresses the point
+     * that far back and is never negative.</p>
+     *
+     * @param position the position of the data point in the whole track, from 0
+     * @return the index of the data point
+     */
+    static int index(long position) {
+        return position < FOLD ? (int) position : (int) (position & (FOLD - 1)) | FOLD;
+    }
+
+    /**
+     * The last {@code capacity} data points, addressed by their {@link #index(long)}.
+     */
+    private static final class Ring implements Track {
+        private final double[] xs;
+        private final double[] ys;
+        private final int mask;
+        private long appended;
+
+        Ring(int capacity) {
+            this.xs = new double[capacity];
+            this.ys = new double[capacity];
+            this.mask = capacity - 1;
+        }
+
+        void append(double x, double y) {
+            int slot = (int) appended & mask;
+            xs[slot] = x;
+            ys[slot] = y;
+            appended++;
+        }
+
+        long appended() {
+            return appended;
+        }
+
+        /**
+         * @return the number of data points appended, at most {@link Integer#MAX_VALUE}
+         */
+        @Override
+        public int size() {
+            return (int) Math.min(appended, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public double x(int i) {
+            return xs[i & mask];
+        }
+
+        @Override
+        public double y(int i) {
+            return ys[i & mask];
+        }
+    }
+}
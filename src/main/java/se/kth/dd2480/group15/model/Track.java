@@ -0,0 +1,51 @@
+package se.kth.dd2480.group15.model;
+
+/**
+ * A read-only sequence of planar data points addressed by index, used as input to the LICs.
+ *
+ * <p>Unlike an array of {@link Point} records, implementations store the coordinates as
+ * primitives, so walking a track does not chase a pointer per data point.</p>
+ */
+public interface Track {
+
+    /**
+     * @return the number of data points in the track
+     */
+    int size();
+
+    /**
+     * @param i the index of the data point, {@code 0 <= i < size()}
+     * @return the x-coordinate of data point {@code i}
+     */
+    double x(int i);
+
+    /**
+     * @param i the index of the data point, {@code 0 <= i < size()}
+     * @return the y-coordinate of data point {@code i}
+     */
+    double y(int i);
+
+    /**
+     * Creates a track backed by the given coordinate arrays. The arrays are not copied.
+     *
+     * @param xs the x-coordinates of the data points
+     * @param ys the y-coordinates of the data points, same length as {@code xs}
+     * @return a track over the given arrays
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    static Track of(double[] xs, double[] ys) {
+        return new ArrayTrack(xs, ys);
+    }
+
+    /**
+     * Creates a track over the first {@code numPoints} points of the array. The array is not
+     * copied; use {@link ArrayTrack#copyOf(Point[], int)} to evaluate many LICs over the points.
+     *
+     * @param points an array of data points
+     * @param numPoints the number of data points; a negative value yields an empty track
+     * @return a view of the points
+     */
+    static Track of(Point[] points, int numPoints) {
+        return new PointArrayTrack(points, numPoints);
+    }
+}
@@ -0,0 +1,205 @@
+package se.kth.dd2480.group15.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import se.kth.dd2480.group15.utils.CompType;
+import se.kth.dd2480.group15.utils.Utils;
+
+/**
+ * SIMD versions of the LIC loops that are straight-line arithmetic over coordinate arrays:
+ * distances between points a fixed gap apart (LICs 0, 7, 12), triangle areas (LICs 3, 10, 14)
+ * and x-differences (LICs 5, 11).
+ *
+ * <p>Each loop searches the windows whose first point lies in a range, so that the chunks of a
+ * {@link WindowSearch} over an {@link ArrayTrack} can run it on the backing arrays. It processes
+ * as many windows per iteration as the preferred vector species has lanes, and the remaining
+ * windows one by one, and returns as soon as a window satisfies the condition, like the scalar
+ * loops. The arithmetic is the same as in the scalar loops, operation for operation, so the
+ * results are identical.</p>
+ *
+ * <p>Vectors never cross a method boundary: the helpers that evaluate a block of windows take
+ * and return primitives, with the lanes that satisfy a condition as the bits of a {@code long}.
+ * A vector passed to or returned from a method that the JIT does not inline has to be allocated
+ * on the heap, and the JIT declines to inline a helper that it has already compiled into a large
+ * method, so vector-valued helpers would allocate depending on the order in which methods happen
+ * to be compiled.</p>
+ *
+ * <p>Uses the incubating {@code jdk.incubator.vector} module. This class must only be loaded
+ * when {@link LicEvaluator#VECTOR_API} is true, as it cannot be linked otherwise.</p>
+ */
+final class VectorKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * The bits of the second condition of a block are shifted by this much; no species has more
+     * than 32 lanes of doubles.
+     */
+    private static final int SECOND = 32;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Whether some pair of points {@code gap} apart, the first at {@code from} to {@code to - 1},
+     * is further apart than a length, given as its {@link Utils#squaredThreshold(double)}.
+     */
+    static boolean anyDistanceGreater(double[] xs, double[] ys, int gap, double squaredLength, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            if (distances(xs, ys, i, gap, squaredLength, Double.NEGATIVE_INFINITY) != 0) return true;
+        }
+        for (; i < to; i++) {
+            if (Utils.distanceExceeds(xs[i + gap] - xs[i], ys[i + gap] - ys[i], squaredLength)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Looks for a pair of points {@code gap} apart, the first at {@code from} to {@code to - 1},
+     * that is further apart than one length and a, possibly other, pair at most another length
+     * apart, both given as their {@link Utils#squaredThreshold(double)}.
+     *
+     * @return {@link LicEvaluator#ABOVE} if some pair is further apart than the first length,
+     *         or'ed with {@link LicEvaluator#BELOW} if some pair is at most the second length
+     *         apart; stops as soon as both are found
+     */
+    static int distanceBounds(double[] xs, double[] ys, int gap, double squaredLength1, double squaredLength2,
+                              int from, int to) {
+        long found = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound && !isBoth(found); i += SPECIES.length()) {
+            found |= distances(xs, ys, i, gap, squaredLength1, squaredLength2);
+        }
+        for (; i < to && !isBoth(found); i++) {
+            double dx = xs[i + gap] - xs[i], dy = ys[i + gap] - ys[i];
+            if (Utils.distanceExceeds(dx, dy, squaredLength1)) found |= 1;
+            if (Utils.distanceWithin(dx, dy, squaredLength2)) found |= 1L << SECOND;
+        }
+        return bounds(found);
+    }
+
+    /**
+     * Whether the x-coordinate decreases between some pair of points {@code gap} apart, the
+     * first at {@code from} to {@code to - 1}.
+     */
+    static boolean anyXDecrease(double[] xs, int gap, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i + gap).sub(DoubleVector.fromArray(SPECIES, xs, i));
+            if (dx.compare(VectorOperators.LT, 0).anyTrue()) return true;
+        }
+        for (; i < to; i++) {
+            if (xs[i + gap] - xs[i] < 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether some triangle of points {@code firstGap} and {@code secondGap} apart, the first at
+     * {@code from} to {@code to - 1}, has an area greater than {@code area1}, compared as by
+     * {@link Utils#doubleCompare}.
+     */
+    static boolean anyAreaGreater(double[] xs, double[] ys, int firstGap, int secondGap, double area1, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            // No area is less than NaN, so only the first condition can hold
+            if (areas(xs, ys, i, firstGap, secondGap, area1, Double.NaN) != 0) return true;
+        }
+        for (; i < to; i++) {
+            if (Utils.doubleCompare(area(xs, ys, i, firstGap, secondGap), area1) == CompType.GT) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Looks for a triangle of points {@code firstGap} and {@code secondGap} apart, the first at
+     * {@code from} to {@code to - 1}, with an area greater than {@code area1} and a, possibly
+     * other, triangle with an area less than {@code area2}, compared as by
+     * {@link Utils#doubleCompare}.
+     *
+     * @return {@link LicEvaluator#ABOVE} if some area is greater than {@code area1}, or'ed with
+     *         {@link LicEvaluator#BELOW} if some area is less than {@code area2}; stops as soon as
+     *         both are found
+     */
+    static int areaBounds(double[] xs, double[] ys, int firstGap, int secondGap, double area1, double area2,
+                          int from, int to) {
+        long found = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound && !isBoth(found); i += SPECIES.length()) {
+            found |= areas(xs, ys, i, firstGap, secondGap, area1, area2);
+        }
+        for (; i < to && !isBoth(found); i++) {
+            double area = area(xs, ys, i, firstGap, secondGap);
+            if (Utils.doubleCompare(area, area1) == CompType.GT) found |= 1;
+            if (Utils.doubleCompare(area, area2) == CompType.LT) found |= 1L << SECOND;
+        }
+        return bounds(found);
+    }
+
+    /**
+     * Compares the squared distances between the points {@code i + lane} and
+     * {@code i + lane + gap}, computed as {@code dx * dx + dy * dy}, for a full block of lanes.
+     *
+     * @return the lanes where the squared distance is greater than {@code greater}, and shifted
+     *         by {@link #SECOND}, the lanes where it is at most {@code atMost}
+     */
+    private static long distances(double[] xs, double[] ys, int i, int gap, double greater, double atMost) {
+        DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i + gap).sub(DoubleVector.fromArray(SPECIES, xs, i));
+        DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i + gap).sub(DoubleVector.fromArray(SPECIES, ys, i));
+        DoubleVector squared = dx.mul(dx).add(dy.mul(dy));
+        return squared.compare(VectorOperators.GT, greater).toLong()
+                | squared.compare(VectorOperators.LE, atMost).toLong() << SECOND;
+    }
+
+    /**
+     * Compares the areas of the triangles starting at the points {@code i + lane}, computed as in
+     * {@link Utils#getTriangleArea(double, double, double, double, double, double)}, for a full
+     * block of lanes, as by {@link Utils#doubleCompare}.
+     *
+     * @return the lanes where the area is greater than {@code greater}, and shifted by
+     *         {@link #SECOND}, the lanes where it is less than {@code less}
+     */
+    private static long areas(double[] xs, double[] ys, int i, int firstGap, int secondGap, double greater, double less) {
+        int j = i + firstGap + 1, k = j + secondGap + 1;
+        DoubleVector x1 = DoubleVector.fromArray(SPECIES, xs, i), y1 = DoubleVector.fromArray(SPECIES, ys, i);
+        DoubleVector x2 = DoubleVector.fromArray(SPECIES, xs, j), y2 = DoubleVector.fromArray(SPECIES, ys, j);
+        DoubleVector x3 = DoubleVector.fromArray(SPECIES, xs, k), y3 = DoubleVector.fromArray(SPECIES, ys, k);
+        DoubleVector area = x1.mul(y2.sub(y3))
+                .add(x2.mul(y3.sub(y1)))
+                .add(x3.mul(y1.sub(y2)))
+                .abs().mul(0.5);
+
+        // GT is neither within the precision nor less, which includes NaN; LT is less and not within it
+        VectorMask<Double> equalToGreater = area.sub(greater).abs().compare(VectorOperators.LT, Utils.PRECISION);
+        VectorMask<Double> isGreater = equalToGreater.or(area.compare(VectorOperators.LT, greater)).not();
+        VectorMask<Double> equalToLess = area.sub(less).abs().compare(VectorOperators.LT, Utils.PRECISION);
+        VectorMask<Double> isLess = area.compare(VectorOperators.LT, less).andNot(equalToLess);
+        return isGreater.toLong() | isLess.toLong() << SECOND;
+    }
+
+    /**
+     * The area of the triangle starting at point {@code i}, as in {@link #areas}.
+     */
+    private static double area(double[] xs, double[] ys, int i, int firstGap, int secondGap) {
+        int j = i + firstGap + 1, k = j + secondGap + 1;
+        return Utils.getTriangleArea(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]);
+    }
+
+    /**
+     * Whether both conditions hold for some lane.
+     */
+    private static boolean isBoth(long found) {
+        return (int) found != 0 && found >>> SECOND != 0;
+    }
+
+    /**
+     * The conditions that hold for some lane, as {@link LicEvaluator#ABOVE} and
+     * {@link LicEvaluator#BELOW}.
+     */
+    private static int bounds(long found) {
+        return ((int) found != 0 ? LicEvaluator.ABOVE : 0) | (found >>> SECOND != 0 ? LicEvaluator.BELOW : 0);
+    }
+}
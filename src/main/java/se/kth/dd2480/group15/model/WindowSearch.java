@@ -0,0 +1,218 @@
+package se.kth.dd2480.group15.model;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Searches the windows of one LIC in chunks, in parallel on a {@link ForkJoinPool} or one after
+ * the other on the calling thread.
+ *
+ * <p>Every LIC asks whether some window satisfies a condition, or, for LICs 12 to 14, whether
+ * some window satisfies one condition and some window another. A window starting at point
+ * {@code i} reads the points {@code i} to {@code i + span}, where the span follows from the
+ * window offsets of the LIC. The window starts are split into chunks of {@value #MIN_CHUNK} to
+ * {@value #MAX_CHUNK} windows, and each chunk is searched with the sequential LIC on a
+ * {@linkplain Slice slice} of the track that holds its windows and nothing more. Ranges are
+ * halved recursively, like the requests in {@code BatchDecide}, so idle workers steal the
+ * remaining halves.</p>
+ *
+ * <p>The conditions found so far are shared by all chunks. Once all of them are found, chunks
+ * that have not started yet return at once, and halves are no longer split.</p>
+ *
+ * <p>A LIC that reads the arrays of an {@link ArrayTrack} directly, such as the
+ * {@link VectorKernels}, searches ranges of window starts instead of slices, so that it needs no
+ * view of the track.</p>
+ *
+ * <p>Without a pool, the chunks are searched in order on the calling thread, which is checked
+ * for an interrupt before each chunk, so that an interrupted search stops within one chunk.</p>
+ */
+final class WindowSearch {
+
+    /**
+     * The smallest number of windows in a chunk. Much larger than any window count the LICs
+     * check besides their span, so a slice passes the same checks as the whole track.
+     */
+    static final int MIN_CHUNK = 1 << 12;
+
+    /**
+     * The largest number of windows in a chunk, so that a search that has found its windows
+     * soon stops the others.
+     */
+    static final int MAX_CHUNK = 1 << 16;
+
+    /**
+     * The number of chunks per worker, so that workers that finish early can steal more.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private WindowSearch() {
+    }
+
+    /**
+     * Searches for a window that satisfies a condition.
+     *
+     * @param pool the pool to run on, or null to run on the calling thread
+     * @param track the data points
+     * @param span the distance from the first to the last point of a window, at least 0
+     * @param lic the sequential LIC, applied to slices of the track
+     * @return whether some slice, and therefore the track, satisfies the LIC
+     * @throws CancellationException if the calling thread is interrupted while searching
+     *                               without a pool
+     */
+    static boolean any(ForkJoinPool pool, Track track, int span, Predicate<Track> lic) {
+        return search(pool, track, span, 1, slice -> lic.test(slice) ? 1 : 0) == 1;
+    }
+
+    /**
+     * Searches for windows that satisfy each of a set of conditions.
+     *
+     * @param pool the pool to run on, or null to run on the calling thread
+     * @param track the data points
+     * @param span the distance from the first to the last point of a window, at least 0
+     * @param goals the conditions to find, one bit each
+     * @param conditions applied to a slice of the track, returns the conditions that some window
+     *                   of the slice satisfies
+     * @return the conditions found, stopping early once all {@code goals} are found
+     * @throws CancellationException if the calling thread is interrupted while searching
+     *                               without a pool
+     */
+    static int search(ForkJoinPool pool, Track track, int span, int goals, ToIntFunction<Track> conditions) {
+        int windows = track.size() - span;
+        if (windows < 2 * MIN_CHUNK) {
+            return conditions.applyAsInt(track);
+        }
+        return search(pool, windows, goals, (from, to) -> conditions.applyAsInt(new Slice(track, from, to - from + span)));
+    }
+
+    /**
+     * Searches ranges of window starts for a window that satisfies a condition.
+     *
+     * @param pool the pool to run on, or null to run on the calling thread
+     * @param windows the number of windows, which start at 0 to {@code windows - 1}
+     * @param lic applied to a range of window starts, from inclusive to exclusive
+     * @return whether some window satisfies the LIC
+     * @throws CancellationException if the calling thread is interrupted while searching
+     *                               without a pool
+     */
+    static boolean any(ForkJoinPool pool, int windows, RangePredicate lic) {
+        return search(pool, windows, 1, (from, to) -> lic.test(from, to) ? 1 : 0) == 1;
+    }
+
+    /**
+     * Searches ranges of window starts for windows that satisfy each of a set of conditions.
+     *
+     * @param pool the pool to run on, or null to run on the calling thread
+     * @param windows the number of windows, which start at 0 to {@code windows - 1}
+     * @param goals the conditions to find, one bit each
+     * @param conditions applied to a range of window starts, from inclusive to exclusive,
+     *                   returns the conditions that some window of the range satisfies
+     * @return the conditions found, stopping early once all {@code goals} are found
+     * @throws CancellationException if the calling thread is interrupted while searching
+     *                               without a pool
+     */
+    static int search(ForkJoinPool pool, int windows, int goals, IntBinaryOperator conditions) {
+        if (windows < 2 * MIN_CHUNK) {
+            return conditions.applyAsInt(0, Math.max(windows, 0));
+        }
+
+        if (pool == null) {
+            int found = 0;
+            for (int from = 0, to; from < windows && found != goals; from = to) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("The search was interrupted.");
+                }
+                // The last chunk takes the remaining windows, so that none has fewer than MIN_CHUNK
+                to = windows - from < 2 * MIN_CHUNK ? windows : from + MIN_CHUNK;
+                found |= conditions.applyAsInt(from, to);
+            }
+            return found;
+        }
+
+        int chunk = Math.clamp(windows / (CHUNKS_PER_WORKER * pool.getParallelism()), MIN_CHUNK, MAX_CHUNK);
+        AtomicInteger found = new AtomicInteger();
+        pool.invoke(new SearchTask(goals, conditions, chunk, found, 0, windows));
+        return found.get();
+    }
+
+    /**
+     * A condition on the windows that start in a range.
+     */
+    @FunctionalInterface
+    interface RangePredicate {
+
+        /**
+         * Whether some window starting at {@code from} to {@code to - 1} satisfies the condition.
+         */
+        boolean test(int from, int to);
+    }
+
+    // Tasks are never serialized, so neither are the conditions they hold
+    @SuppressWarnings("serial")
+    private static final class SearchTask extends RecursiveAction {
+        private final int goals;
+        private final IntBinaryOperator conditions;
+        private final int chunk;
+        private final AtomicInteger found;
+        private final int from;
+        private final int to;
+
+        SearchTask(int goals, IntBinaryOperator conditions, int chunk, AtomicInteger found, int from, int to) {
+            this.goals = goals;
+            this.conditions = conditions;
+            this.chunk = chunk;
+            this.found = found;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() == goals) return;
+
+            if (to - from >= 2 * chunk) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SearchTask(goals, conditions, chunk, found, from, mid),
+                          new SearchTask(goals, conditions, chunk, found, mid, to));
+                return;
+            }
+
+            int conditionsMet = conditions.applyAsInt(from, to);
+            if (conditionsMet != 0) found.getAndAccumulate(conditionsMet, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * A view of consecutive points of a track.
+     */
+    private static final class Slice implements Track {
+        private final Track track;
+        private final int offset;
+        private final int size;
+
+        Slice(Track track, int offset, int size) {
+            this.track = track;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public double x(int i) {
+            return track.x(offset + i);
+        }
+
+        @Override
+        public double y(int i) {
+            return track.y(offset + i);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package se.kth.dd2480.group15.utils;
+
+/**
+ * Used to express where the angle formed by three points lies relative to the band PI ± epsilon
+ * of LICs 2 and 9.
+ *
+ * @see Utils#angleBand
+ */
+public enum AngleBand {
+
+    /**
+     * Indicates that the angle lies within PI ± epsilon.
+     */
+    INSIDE,
+
+    /**
+     * Indicates that the angle lies outside PI ± epsilon.
+     */
+    OUTSIDE,
+
+    /**
+     * Indicates that the angle is undefined because the first and/or third point coincides with
+     * the vertex.
+     */
+    UNDEFINED
+}
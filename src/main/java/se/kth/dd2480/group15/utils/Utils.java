@@ -1,14 +1,24 @@
 package se.kth.dd2480.group15.utils;
 
 import se.kth.dd2480.group15.model.Point;
-import java.util.Arrays;
 
 /**
  * Collection of static utility methods used when checking LICs truth values.
  */
 public class Utils {
 
-    private final static double PRECISION = 0.000001;
+    /**
+     * The tolerance of {@link #doubleCompare}: values closer than this are equal.
+     */
+    public final static double PRECISION = 0.000001;
+
+    /**
+     * The range of squared segment lengths for which {@link #angleCosine} and {@link #angleBand}
+     * need no scaling: the product of two such squared lengths neither overflows nor becomes
+     * subnormal.
+     */
+    private static final double MIN_SQUARED_LENGTH = 0x1p-480;
+    private static final double MAX_SQUARED_LENGTH = 0x1p480;
 
     /**
      * Calculates the angle (in radians) formed at point vertex by the line segments vertex-p1 and vertex-p3.
@@ -25,12 +35,32 @@ public class Utils {
             throw new IllegalArgumentException("Points p1 and/or p3 cannot coincide with vertex.");
         }
 
-        double v1x = p1.x() - vertex.x();
-        double v1y = p1.y() - vertex.y();
+        return angleAtVertex(p1.x(), p1.y(), vertex.x(), vertex.y(), p3.x(), p3.y());
+    }
+
+    /**
+     * Coordinate variant of {@link #angleAtVertex(Point, Point, Point)}.
+     *
+     * @param x1 the x-coordinate of the first point.
+     * @param y1 the y-coordinate of the first point.
+     * @param vx the x-coordinate of the vertex.
+     * @param vy the y-coordinate of the vertex.
+     * @param x3 the x-coordinate of the third point.
+     * @param y3 the y-coordinate of the third point.
+     * @return the angle in radians formed at the vertex.
+     * @throws IllegalArgumentException if the first and/or third point coincides with the vertex.
+     */
+    public static double angleAtVertex(double x1, double y1, double vx, double vy, double x3, double y3) {
+        if ((x1 == vx && y1 == vy) || (x3 == vx && y3 == vy)) {
+            throw new IllegalArgumentException("Points p1 and/or p3 cannot coincide with vertex.");
+        }
+
+        double v1x = x1 - vx;
+        double v1y = y1 - vy;
         double v1len = Math.sqrt(v1x * v1x + v1y * v1y);
 
-        double v2x = p3.x() - vertex.x();
-        double v2y = p3.y() - vertex.y();
+        double v2x = x3 - vx;
+        double v2y = y3 - vy;
         double v2len = Math.sqrt(v2x * v2x + v2y * v2y);
 
         double dot = v1x * v2x + v1y * v2y;
@@ -38,6 +68,104 @@ public class Utils {
         return Math.acos(dot / (v1len * v2len));
     }
 
+    /**
+     * Computes the cosine of the angle formed at the vertex, as the dot product of the two line
+     * segments divided by the product of their lengths, without any trigonometry. Segments too
+     * long or too short to square are scaled first, so the cosine is accurate at any scale.
+     *
+     * <p>For the extrema of {@code ParameterSweep}, which need the value. Whether an angle is
+     * outside a band is answered by {@link #angleBand} without the square roots and division.</p>
+     *
+     * @param x1 the x-coordinate of the first point.
+     * @param y1 the y-coordinate of the first point.
+     * @param vx the x-coordinate of the vertex.
+     * @param vy the y-coordinate of the vertex.
+     * @param x3 the x-coordinate of the third point.
+     * @param y3 the y-coordinate of the third point.
+     * @return the cosine of the angle; not meaningful if a point coincides with the vertex.
+     */
+    public static double angleCosine(double x1, double y1, double vx, double vy, double x3, double y3) {
+        double v1x = x1 - vx;
+        double v1y = y1 - vy;
+        double v2x = x3 - vx;
+        double v2y = y3 - vy;
+
+        double squared1 = v1x * v1x + v1y * v1y;
+        double squared2 = v2x * v2x + v2y * v2y;
+        if (!isInRange(squared1) || !isInRange(squared2)) {
+            // Squares or products of the segments over- or underflow, so scale each segment by a
+            // power of two, which is exact, to a length near 1. The cosine does not change.
+            int scale1 = scale(v1x, v1y), scale2 = scale(v2x, v2y);
+            v1x = Math.scalb(v1x, scale1);
+            v1y = Math.scalb(v1y, scale1);
+            v2x = Math.scalb(v2x, scale2);
+            v2y = Math.scalb(v2y, scale2);
+            squared1 = v1x * v1x + v1y * v1y;
+            squared2 = v2x * v2x + v2y * v2y;
+        }
+
+        double dot = v1x * v2x + v1y * v2y;
+        return dot / (Math.sqrt(squared1) * Math.sqrt(squared2));
+    }
+
+    /**
+     * Checks whether the angle formed at the vertex lies outside the band PI ± epsilon, given as
+     * the cosine bound of the parameters: the angle is outside exactly when its cosine is at
+     * least the bound. A NaN cosine counts as outside, as {@link #doubleCompare} considers a NaN
+     * angle greater than PI + epsilon.
+     *
+     * @param x1 the x-coordinate of the first point.
+     * @param y1 the y-coordinate of the first point.
+     * @param vx the x-coordinate of the vertex.
+     * @param vy the y-coordinate of the vertex.
+     * @param x3 the x-coordinate of the third point.
+     * @param y3 the y-coordinate of the third point.
+     * @param cosineBound the cosine of the smallest angle within the band.
+     * @return {@link AngleBand#UNDEFINED} if the first and/or third point coincides with the vertex,
+     * otherwise whether the angle lies inside or outside the band.
+     */
+    public static AngleBand angleBand(double x1, double y1, double vx, double vy, double x3, double y3,
+                                      double cosineBound) {
+        if ((x1 == vx && y1 == vy) || (x3 == vx && y3 == vy)) {
+            return AngleBand.UNDEFINED;
+        }
+
+        double v1x = x1 - vx;
+        double v1y = y1 - vy;
+        double v2x = x3 - vx;
+        double v2y = y3 - vy;
+
+        double squared1 = v1x * v1x + v1y * v1y;
+        double squared2 = v2x * v2x + v2y * v2y;
+        if (!isInRange(squared1) || !isInRange(squared2)) {
+            // As in angleCosine; scaling a segment by a positive factor does not move the angle
+            int scale1 = scale(v1x, v1y), scale2 = scale(v2x, v2y);
+            v1x = Math.scalb(v1x, scale1);
+            v1y = Math.scalb(v1y, scale1);
+            v2x = Math.scalb(v2x, scale2);
+            v2y = Math.scalb(v2y, scale2);
+            squared1 = v1x * v1x + v1y * v1y;
+            squared2 = v2x * v2x + v2y * v2y;
+        }
+
+        // cosine < bound, that is dot / sqrt(squared1 * squared2) < bound, with both sides
+        // multiplied by their absolute values, which keeps their order, to drop the square root
+        double dot = v1x * v2x + v1y * v2y;
+        return dot * Math.abs(dot) < cosineBound * Math.abs(cosineBound) * squared1 * squared2
+                ? AngleBand.INSIDE : AngleBand.OUTSIDE;
+    }
+
+    private static boolean isInRange(double squaredLength) {
+        return squaredLength >= MIN_SQUARED_LENGTH && squaredLength <= MAX_SQUARED_LENGTH;
+    }
+
+    /**
+     * @return the power of two that scales a segment to a largest coordinate in [1, 2)
+     */
+    private static int scale(double dx, double dy) {
+        return -Math.getExponent(Math.max(Math.abs(dx), Math.abs(dy)));
+    }
+
     /**
      * Compares two double values with a certain precision tolerance. Determines
      * if the first value is less than, equal to, or greater than the second value.
@@ -66,49 +194,183 @@ public class Utils {
      * @return the radius of the smallest circle that contains all three points.
      */
     public static double getCircleRadius(Point p1, Point p2, Point p3) {
-        // Get all coordinates
-        double x1 = p1.x(), y1 = p1.y();
-        double x2 = p2.x(), y2 = p2.y();
-        double x3 = p3.x(), y3 = p3.y();
-
-        // Get side lengths
-        double d12 = Math.hypot(x1-x2, y1-y2);
-        double d13 = Math.hypot(x1-x3, y1-y3);
-        double d23 = Math.hypot(x2-x3, y2-y3);
-
-        // Get longest, middle and shortest side length
-        double[] values = {d12, d13, d23};
-        Arrays.sort(values);
-        double longest = values[2], mid = values[1], shortest = values[0];
-
-        double radius;
-        if (longest*longest >= mid*mid + shortest*shortest) {
+        return getCircleRadius(p1.x(), p1.y(), p2.x(), p2.y(), p3.x(), p3.y());
+    }
+
+    /**
+     * Coordinate variant of {@link #getCircleRadius(Point, Point, Point)}.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @return the radius of the smallest circle that contains all three points.
+     */
+    public static double getCircleRadius(double x1, double y1, double x2, double y2, double x3, double y3) {
+        double squared = getSquaredCircleRadius(x1, y1, x2, y2, x3, y3);
+        return squared < 0 ? -1 : Math.sqrt(squared);
+    }
+
+    /**
+     * Computes the square of the radius of the smallest circle that contains all three points,
+     * without any square root.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @return the squared radius, or -1 if the triangle is acute but too flat to construct its
+     * circumcircle, as for {@link #getCircleRadius(double, double, double, double, double, double)}.
+     */
+    public static double getSquaredCircleRadius(double x1, double y1, double x2, double y2, double x3, double y3) {
+        // Get squared side lengths
+        double s12 = (x1-x2)*(x1-x2) + (y1-y2)*(y1-y2);
+        double s13 = (x1-x3)*(x1-x3) + (y1-y3)*(y1-y3);
+        double s23 = (x2-x3)*(x2-x3) + (y2-y3)*(y2-y3);
+
+        // The longest side and the sum of the other two
+        double longest, others;
+        if (s12 >= s13 && s12 >= s23) { longest = s12; others = s13 + s23; }
+        else if (s13 >= s23) { longest = s13; others = s12 + s23; }
+        else { longest = s23; others = s12 + s13; }
+
+        if (longest >= others) {
             // The three points make a right or obtuse triangle
-            radius = longest / 2;
-        }
-        else {
-            // The three points make an acute triangle
-            radius = getRadiusFrom3(p1, p2, p3);
+            return longest / 4;
         }
 
-        return radius;
+        // The three points make an acute triangle, whose circumradius is abc / (4 * area), and
+        // twice the area is the cross product of two sides
+        double det = (x1-x2) * (y2-y3) - (x2-x3) * (y1-y2);
+        if (Math.abs(det) < PRECISION) { return -1; } // No circle can be found
+        double squared = s12 * s13 * s23 / (4 * det * det);
+
+        // The product of the sides overflows long before the coordinates do
+        return Double.isFinite(squared) ? squared : getSquaredRadiusFrom3(x1, y1, x2, y2, x3, y3);
     }
 
     /**
-     *  Calculates the radius of the circle passing through all three given points.
+     * Returns the threshold to compare squared lengths against instead of comparing their square
+     * roots against {@code length}. For every squared length {@code s}, {@code Math.sqrt(s) > length}
+     * exactly when {@code s > squaredThreshold(length)}, and {@code Math.sqrt(s) < length} exactly
+     * when {@code s <= squaredThreshold(Math.nextDown(length))}.
+     *
+     * <p>The threshold is {@code length * length} nudged by a few ulps, so that rounding never makes
+     * the squared comparison disagree with the one on the square root. Compute it once per
+     * parameter rather than once per comparison.</p>
+     *
+     * @param length the threshold on the length, may be negative
+     * @return the largest value whose square root is at most {@code length}; -1 if
+     * {@code length} is negative
+     */
+    public static double squaredThreshold(double length) {
+        if (Double.isNaN(length) || length == Double.POSITIVE_INFINITY) return length;
+        if (length < 0) return -1;
+
+        double threshold = Math.min(length * length, Double.MAX_VALUE);
+        while (Math.sqrt(threshold) > length) threshold = Math.nextDown(threshold);
+        while (Math.sqrt(Math.nextUp(threshold)) <= length) threshold = Math.nextUp(threshold);
+        return threshold;
+    }
+
+    /**
+     * Checks if two points are further apart than a length, as {@code Math.sqrt(dx*dx + dy*dy) > length}.
+     *
+     * @param dx the difference of the x-coordinates of the points
+     * @param dy the difference of the y-coordinates of the points
+     * @param squaredLength the {@link #squaredThreshold(double)} of the length
+     * @return true if the distance between the points is greater than the length
+     */
+    public static boolean distanceExceeds(double dx, double dy, double squaredLength) {
+        return dx*dx + dy*dy > squaredLength;
+    }
+
+    /**
+     * Checks if two points are at most a length apart. With the squared threshold of
+     * {@code Math.nextDown(length)}, this checks if they are closer than {@code length}.
+     *
+     * @param dx the difference of the x-coordinates of the points
+     * @param dy the difference of the y-coordinates of the points
+     * @param squaredLength the {@link #squaredThreshold(double)} of the length
+     * @return true if the distance between the points is at most the length, false if it is
+     * greater or NaN
+     */
+    public static boolean distanceWithin(double dx, double dy, double squaredLength) {
+        return dx*dx + dy*dy <= squaredLength;
+    }
+
+    /**
+     * Checks if three points cannot be contained within or on a circle of a given radius.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @param squaredRadius the {@link #squaredThreshold(double)} of the radius
+     * @return true if the smallest circle containing the points has a greater radius
+     */
+    public static boolean radiusExceeds(double x1, double y1, double x2, double y2, double x3, double y3,
+                                        double squaredRadius) {
+        return getSquaredCircleRadius(x1, y1, x2, y2, x3, y3) > squaredRadius;
+    }
+
+    /**
+     * Checks if the area of a triangle is greater than a given area, as
+     * {@code doubleCompare(getTriangleArea(...), area) == GT}. Compares twice the area, which is
+     * the cross product of two sides, against twice the threshold and tolerance; doubling is
+     * exact, so the outcome is the same.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @param area the area to compare against
+     * @return true if the area of the triangle is greater than {@code area}
+     */
+    public static boolean areaExceeds(double x1, double y1, double x2, double y2, double x3, double y3, double area) {
+        double difference = Math.abs(cross(x1, y1, x2, y2, x3, y3)) - 2 * area;
+        return !(Math.abs(difference) < 2 * PRECISION) && !(difference < 0);
+    }
+
+    /**
+     * Checks if the area of a triangle is less than a given area, as
+     * {@code doubleCompare(getTriangleArea(...), area) == LT}.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @param area the area to compare against
+     * @return true if the area of the triangle is less than {@code area}
+     */
+    public static boolean areaBelow(double x1, double y1, double x2, double y2, double x3, double y3, double area) {
+        double difference = Math.abs(cross(x1, y1, x2, y2, x3, y3)) - 2 * area;
+        return !(Math.abs(difference) < 2 * PRECISION) && difference < 0;
+    }
+
+    /**
+     *  Calculates the square of the radius of the circle passing through all three given points.
      * 
-     * @param p1 The first point.
-     * @param p2 The second point.
-     * @param p3 The third point.
-     * @return the radius of the circle constructed by the three points or -1 if 
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @return the squared radius of the circle constructed by the three points or -1 if
      * no such circle can be constructed.
      */
-    private static double getRadiusFrom3(Point p1, Point p2, Point p3) {
-        // Get all coordinates
-        double x1 = p1.x(), y1 = p1.y();
-        double x2 = p2.x(), y2 = p2.y();
-        double x3 = p3.x(), y3 = p3.y();
-
+    private static double getSquaredRadiusFrom3(double x1, double y1, double x2, double y2, double x3, double y3) {
         // Get all square lengths
         double s1 = x1*x1 + y1*y1;
         double s2 = x2*x2 + y2*y2;
@@ -126,10 +388,8 @@ public class Utils {
         double centerx = (bc * (y2-y3) - cd * (y1-y2)) / det;
         double centery = (cd * (x1-x2) - bc * (x2-x3)) / det;
 
-        // Find the radius of the circle
-        double radius = Math.sqrt( (x2-centerx)*(x2-centerx) + (y2-centery)*(y2-centery) );
-
-        return radius;
+        // Find the squared radius of the circle
+        return (x2-centerx)*(x2-centerx) + (y2-centery)*(y2-centery);
     }
 
     /**
@@ -142,14 +402,35 @@ public class Utils {
      * @return the positive area of the triangle. If coordinates does not make up a triangle area is zero.
      */
     public static double getTriangleArea(Point p1, Point p2, Point p3){
-        double area = (0.5)*Math.abs(
-            (p1.x() * (p2.y()- p3.y())) + 
-            (p2.x() * (p3.y()- p1.y())) + 
-            (p3.x() * (p1.y()- p2.y())));
+        return getTriangleArea(p1.x(), p1.y(), p2.x(), p2.y(), p3.x(), p3.y());
+    }
+
+    /**
+     * Coordinate variant of {@link #getTriangleArea(Point, Point, Point)}.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     * @param x3 The x-coordinate of the third point.
+     * @param y3 The y-coordinate of the third point.
+     * @return the positive area of the triangle. If coordinates does not make up a triangle area is zero.
+     */
+    public static double getTriangleArea(double x1, double y1, double x2, double y2, double x3, double y3){
+        double area = (0.5)*Math.abs(cross(x1, y1, x2, y2, x3, y3));
 
         return area;
     }
 
+    /**
+     * Twice the signed area of a triangle, by the shoelace formula.
+     */
+    private static double cross(double x1, double y1, double x2, double y2, double x3, double y3) {
+        return (x1 * (y2- y3)) +
+               (x2 * (y3- y1)) +
+               (x3 * (y1- y2));
+    }
+
     /**
      * Checks if all boolean values of the PUV in the given row are true.
      *
@@ -163,5 +444,35 @@ public class Utils {
         }
         return true;
     }
-}
 
+    /**
+     * Packs a boolean array of at most 32 values into an int, where bit {@code i} is set if
+     * {@code arr[i]} is true. Used for the CMV, PUV, PUM rows and FUV, which have 15 entries.
+     *
+     * @param arr the boolean array to pack
+     * @return the packed bits
+     */
+    public static int pack(boolean[] arr) {
+        int bits = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i])
+                bits |= 1 << i;
+        }
+        return bits;
+    }
+
+    /**
+     * Unpacks the lowest {@code length} bits of an int into a boolean array.
+     *
+     * @param bits the packed bits
+     * @param length the number of values to unpack, at most 32
+     * @return a boolean array where entry {@code i} is true if bit {@code i} is set
+     */
+    public static boolean[] unpack(int bits, int length) {
+        boolean[] arr = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            arr[i] = (bits & (1 << i)) != 0;
+        }
+        return arr;
+    }
+}
@@ -0,0 +1,76 @@
+package se.kth.dd2480.group15;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+class BatchDecideTest {
+
+    /**
+     * Verifies that every decision of a batch equals the decision of {@code Decide.decide}
+     * for the same request, in request order.
+     * <p>
+     * Test setup: 2000 requests with random LCMs and PUVs, of which some launch and some do not;
+     * most tracks have 5-50 points and every 500th track has 20000, so the batch is split by
+     * cost. Run on a pool of 4 workers.
+     * </p>
+     */
+    @Test
+    void decideAll_matchesDecide() {
+        Random random = new Random(10);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED};
+        Parameters params = Parameters.builder().length1(8).radius1(5).area1(20).qPts(3).quads(2).nPts(4).dist(3).build();
+
+        List<DecideRequest> requests = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int r = 0; r < 2000; r++) {
+            int numPoints = r % 500 == 0 ? 20000 : 5 + random.nextInt(46);
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                xs[i] = random.nextInt(11) - 5;
+                ys[i] = random.nextInt(11) - 5;
+            }
+            Track track = Track.of(xs, ys);
+            Connectors[][] LCM = new Connectors[15][15];
+            boolean[] PUV = new boolean[15];
+            for (int i = 0; i < 15; i++) {
+                PUV[i] = random.nextInt(5) == 0;
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = connectors[random.nextInt(connectors.length)];
+            }
+
+            requests.add(DecideRequest.of(LCM, PUV, track, params));
+            expected.add(Decide.decide(LCM, PUV, track, params));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BitSet launches = BatchDecide.decideAll(requests, pool);
+
+            for (int r = 0; r < requests.size(); r++)
+                assertEquals(expected.get(r), launches.get(r) ? "YES" : "NO", "request " + r);
+            assertTrue(launches.cardinality() > 0 && launches.cardinality() < requests.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that an empty batch gives an empty result.
+     */
+    @Test
+    void decideAll_emptyBatch_returnsEmptyBitSet() {
+        assertTrue(BatchDecide.decideAll(List.of()).isEmpty());
+    }
+}
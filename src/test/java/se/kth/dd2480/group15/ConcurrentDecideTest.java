@@ -0,0 +1,76 @@
+package se.kth.dd2480.group15;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static se.kth.dd2480.group15.Fixtures.randomTrack;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+import se.kth.dd2480.group15.utils.Utils;
+
+class ConcurrentDecideTest {
+
+    /**
+     * Verifies that the concurrent decision equals the decision of {@code Decide.decide}.
+     * <p>
+     * Test setup: 60 random LCMs and PUVs on tracks of 20000 points with integer coordinates in
+     * [-5, 5], and on tracks of 30 points, which are decided sequentially. An LCM entry is ANDD,
+     * ORR, NOTUSED or missing ({@code null}), the latter rarely, so that most rows are complete.
+     * </p>
+     */
+    @Test
+    void decide_matchesDecide() throws InterruptedException {
+        Random random = new Random(20);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED};
+        Parameters params = Parameters.builder().length1(8).radius1(5).area1(20).qPts(3).quads(2).nPts(4).dist(3)
+                .kPts(3).aPts(2).bPts(2).cPts(2).dPts(2).ePts(2).fPts(2).gPts(3).length2(1).radius2(100).area2(1000).build();
+
+        int launches = 0;
+        for (int run = 0; run < 60; run++) {
+            Track track = randomTrack(random, run % 2 == 0 ? 20000 : 30, 5);
+            Connectors[][] LCM = new Connectors[15][15];
+            boolean[] PUV = new boolean[15];
+            for (int i = 0; i < 15; i++) {
+                PUV[i] = random.nextInt(4) == 0;
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = random.nextInt(200) == 0 ? null : connectors[random.nextInt(connectors.length)];
+            }
+
+            String expected = Decide.decide(LCM, PUV, track, params);
+            assertEquals(expected, ConcurrentDecide.decide(PackedLcm.of(LCM), Utils.pack(PUV), track, params), "run " + run);
+            if (expected.equals("YES")) launches++;
+        }
+        assertTrue(launches > 0 && launches < 60);
+    }
+
+    /**
+     * Verifies that the decision is returned once the LICs that finish first decide it, without
+     * waiting for a LIC that is still running.
+     * <p>
+     * Test setup: 100000 points on a line, 1 apart. Only PUV[0] is set, and row 0 connects LIC 0
+     * with LIC 6 by ANDD. LIC 0 (LENGTH1 = 10) is false, so LAUNCH is false whatever LIC 6 is;
+     * LIC 6 with N_PTS = 50000 is false as well, but scans every point of every window.
+     * Expected outcome: NO.
+     * </p>
+     */
+    @Test
+    void decide_decidedEarly_returnsNo() throws InterruptedException {
+        double[] xs = new double[100000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        Track track = Track.of(xs, new double[xs.length]);
+        Parameters params = Parameters.builder().length1(10).nPts(50000).dist(1).build();
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.NOTUSED);
+        LCM[0][6] = Connectors.ANDD;
+        LCM[6][0] = Connectors.ANDD;
+
+        assertEquals("NO", ConcurrentDecide.decide(PackedLcm.of(LCM), 1, track, params));
+    }
+}
@@ -0,0 +1,44 @@
+package se.kth.dd2480.group15;
+
+import java.util.Random;
+
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+/**
+ * Tracks and parameters shared by the tests of several packages.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Creates a track of random points with integer coordinates in {@code [-bound, bound]}.
+     *
+     * @param random the source of the coordinates
+     * @param numPoints the number of points
+     * @param bound the largest absolute value of a coordinate
+     * @return a track backed by arrays
+     */
+    public static Track randomTrack(Random random, int numPoints, int bound) {
+        double[] xs = new double[numPoints];
+        double[] ys = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            xs[i] = random.nextInt(2 * bound + 1) - bound;
+            ys[i] = random.nextInt(2 * bound + 1) - bound;
+        }
+        return Track.of(xs, ys);
+    }
+
+    /**
+     * Creates parameters under which small random tracks satisfy some LICs and not others, told
+     * apart by {@code length1}.
+     *
+     * @param length1 the LENGTH1 of LICs 0, 7 and 12
+     * @return the parameters, with the defaults for the rest
+     */
+    public static Parameters parameters(double length1) {
+        return Parameters.builder().length1(length1).radius1(5).area1(20).qPts(3).quads(2).nPts(4).dist(3).build();
+    }
+}
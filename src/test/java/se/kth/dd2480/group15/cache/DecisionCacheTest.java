@@ -0,0 +1,156 @@
+package se.kth.dd2480.group15.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static se.kth.dd2480.group15.Fixtures.parameters;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.Decide;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Track;
+import se.kth.dd2480.group15.utils.Utils;
+
+class DecisionCacheTest {
+
+    /**
+     * Verifies that cached decisions equal the decisions of {@code Decide.decide}, and that
+     * repeated inputs are hits.
+     * <p>
+     * Test setup: 50 random LCMs, PUVs and tracks of 5-50 points, each decided twice through a
+     * cache large enough for all of them, the second time with copies of the inputs.
+     * Expected outcome: 50 misses and 50 hits.
+     * </p>
+     */
+    @Test
+    void decide_repeatedInputs_hitWithSameDecision() {
+        Random random = new Random(23);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED};
+        DecisionCache cache = new DecisionCache(100);
+
+        for (int run = 0; run < 50; run++) {
+            int numPoints = 5 + random.nextInt(46);
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                xs[i] = random.nextInt(11) - 5;
+                ys[i] = random.nextInt(11) - 5;
+            }
+            Connectors[][] LCM = new Connectors[15][15];
+            boolean[] PUV = new boolean[15];
+            for (int i = 0; i < 15; i++) {
+                PUV[i] = random.nextInt(5) == 0;
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = connectors[random.nextInt(connectors.length)];
+            }
+            String expected = Decide.decide(LCM, PUV, Track.of(xs, ys), parameters(8));
+
+            assertEquals(expected, cache.decide(PackedLcm.of(LCM), Utils.pack(PUV), Track.of(xs, ys), parameters(8)));
+            assertEquals(expected, cache.decide(PackedLcm.of(LCM), Utils.pack(PUV), Track.of(xs.clone(), ys.clone()),
+                    parameters(8)), "run " + run);
+        }
+        assertEquals(50, cache.misses());
+        assertEquals(50, cache.hits());
+        assertEquals(50, cache.size());
+    }
+
+    /**
+     * Verifies that a hit reads each point once, to hash it, and evaluates no LIC.
+     * <p>
+     * Test setup: a track of 1000 points that counts the coordinates read, every LCM entry
+     * ANDD and every PUV entry set, decided twice.
+     * </p>
+     */
+    @Test
+    void decide_hit_readsTrackOnce() {
+        double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        Track points = Track.of(xs, xs);
+        int[] reads = new int[1];
+        Track track = new Track() {
+            public int size() { return points.size(); }
+            public double x(int i) { reads[0]++; return points.x(i); }
+            public double y(int i) { reads[0]++; return points.y(i); }
+        };
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+        DecisionCache cache = new DecisionCache(1);
+
+        cache.decide(PackedLcm.of(LCM), (1 << 15) - 1, track, parameters(8));
+        reads[0] = 0;
+        cache.decide(PackedLcm.of(LCM), (1 << 15) - 1, track, parameters(8));
+
+        assertEquals(2 * xs.length, reads[0]);
+        assertEquals(1, cache.hits());
+    }
+
+    /**
+     * Verifies that inputs differing in one coordinate, one parameter, one LCM entry or the PUV
+     * are different keys.
+     */
+    @Test
+    void decide_differentInputs_miss() {
+        double[] xs = {0, 1, 2, 3, 4};
+        double[] ys = {0, 1, 0, 1, 0};
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.NOTUSED);
+        Connectors[][] otherLCM = new Connectors[15][15];
+        for (int i = 0; i < 15; i++)
+            otherLCM[i] = LCM[i].clone();
+        otherLCM[3][4] = Connectors.ORR;
+        double[] otherYs = ys.clone();
+        otherYs[2] = -0.0;
+        DecisionCache cache = new DecisionCache(10);
+
+        cache.decide(PackedLcm.of(LCM), 1, Track.of(xs, ys), parameters(8));
+        cache.decide(PackedLcm.of(LCM), 1, Track.of(xs, otherYs), parameters(8));
+        cache.decide(PackedLcm.of(LCM), 1, Track.of(xs, ys), parameters(9));
+        cache.decide(PackedLcm.of(otherLCM), 1, Track.of(xs, ys), parameters(8));
+        cache.decide(PackedLcm.of(LCM), 2, Track.of(xs, ys), parameters(8));
+
+        assertEquals(5, cache.misses());
+        assertEquals(0, cache.hits());
+    }
+
+    /**
+     * Verifies that the least recently used decision is evicted once the cache is full.
+     * <p>
+     * Test setup: a cache of 2 decisions. Tracks A and B are decided, then A again, then C,
+     * which evicts B. Deciding A and B once more gives a hit and a miss.
+     * </p>
+     */
+    @Test
+    void decide_full_evictsLeastRecentlyUsed() {
+        PackedLcm LCM = PackedLcm.of(new Connectors[15][15]);
+        Track a = Track.of(new double[] {0, 1, 2}, new double[3]);
+        Track b = Track.of(new double[] {0, 1, 3}, new double[3]);
+        Track c = Track.of(new double[] {0, 1, 4}, new double[3]);
+        DecisionCache cache = new DecisionCache(2);
+
+        cache.decide(LCM, 1, a, parameters(8));
+        cache.decide(LCM, 1, b, parameters(8));
+        cache.decide(LCM, 1, a, parameters(8));
+        cache.decide(LCM, 1, c, parameters(8));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.hits());
+
+        cache.decide(LCM, 1, a, parameters(8));
+        assertEquals(2, cache.hits());
+        cache.decide(LCM, 1, b, parameters(8));
+        assertEquals(2, cache.hits());
+        assertEquals(4, cache.misses());
+    }
+
+    /**
+     * Verifies that a cache must hold at least one decision.
+     */
+    @Test
+    void constructor_zeroCapacity_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DecisionCache(0));
+    }
+}
@@ -0,0 +1,247 @@
+package se.kth.dd2480.group15.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static se.kth.dd2480.group15.Fixtures.parameters;
+import static se.kth.dd2480.group15.Fixtures.randomTrack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.kth.dd2480.group15.Decide;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.Evaluator;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Track;
+import se.kth.dd2480.group15.utils.Utils;
+
+class MappedCmvCacheTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Verifies that decisions equal the decisions of {@code Decide.decide}, both when the CMV
+     * entries are evaluated and when they are read back from the file after it is reopened.
+     * <p>
+     * Test setup: 20 random tracks of 5-50 points, each decided under 10 random LCMs and PUVs.
+     * The file is closed and reopened between two rounds of the same 200 decisions.
+     * Expected outcome: every decision of the second round is a hit.
+     * </p>
+     */
+    @Test
+    void decide_reopened_hitsWithSameDecision() throws IOException {
+        Random random = new Random(25);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED};
+        List<Track> tracks = new ArrayList<>();
+        List<Connectors[][]> LCMs = new ArrayList<>();
+        List<boolean[]> PUVs = new ArrayList<>();
+        for (int run = 0; run < 20; run++) {
+            tracks.add(randomTrack(random, 5 + random.nextInt(46), 5));
+        }
+        for (int run = 0; run < 10; run++) {
+            Connectors[][] LCM = new Connectors[15][15];
+            boolean[] PUV = new boolean[15];
+            for (int i = 0; i < 15; i++) {
+                PUV[i] = random.nextInt(5) == 0;
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = connectors[random.nextInt(connectors.length)];
+            }
+            LCMs.add(LCM);
+            PUVs.add(PUV);
+        }
+        Path path = dir.resolve("cmv.cache");
+
+        for (int round = 0; round < 2; round++) {
+            try (MappedCmvCache cache = MappedCmvCache.open(path, 1024)) {
+                for (Track track : tracks) {
+                    for (int run = 0; run < LCMs.size(); run++) {
+                        String expected = Decide.decide(LCMs.get(run), PUVs.get(run), track, parameters(8));
+                        assertEquals(expected, cache.decide(PackedLcm.of(LCMs.get(run)), Utils.pack(PUVs.get(run)),
+                                track, parameters(8)), "round " + round + ", run " + run);
+                    }
+                }
+                if (round == 1) {
+                    assertEquals(200, cache.hits());
+                    assertEquals(0, cache.misses());
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that a hit reads each point once, to hash it, and evaluates no LIC.
+     * <p>
+     * Test setup: a track of 1000 points that counts the coordinates read, every LCM entry
+     * ANDD and every PUV entry set, decided once, then again after the file is reopened.
+     * </p>
+     */
+    @Test
+    void decide_reopened_readsTrackOnce() throws IOException {
+        double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        Track points = Track.of(xs, xs);
+        int[] reads = new int[1];
+        Track track = new Track() {
+            public int size() { return points.size(); }
+            public double x(int i) { reads[0]++; return points.x(i); }
+            public double y(int i) { reads[0]++; return points.y(i); }
+        };
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+        Path path = dir.resolve("cmv.cache");
+
+        try (MappedCmvCache cache = MappedCmvCache.open(path, 16)) {
+            cache.decide(PackedLcm.of(LCM), (1 << 15) - 1, track, parameters(8));
+        }
+        reads[0] = 0;
+        try (MappedCmvCache cache = MappedCmvCache.open(path, 16)) {
+            cache.decide(PackedLcm.of(LCM), (1 << 15) - 1, track, parameters(8));
+            assertEquals(1, cache.hits());
+        }
+        assertEquals(2 * xs.length, reads[0]);
+    }
+
+    /**
+     * Verifies that two caches open on the same file share their entries, and that an existing
+     * file keeps its number of slots.
+     */
+    @Test
+    void decide_sameFile_sharesEntries() throws IOException {
+        Connectors[][] connectors = new Connectors[15][15];
+        for (Connectors[] row : connectors)
+            Arrays.fill(row, Connectors.ANDD);
+        PackedLcm LCM = PackedLcm.of(connectors);
+        Track track = Track.of(new double[] {0, 1, 2}, new double[3]);
+        Path path = dir.resolve("cmv.cache");
+
+        try (MappedCmvCache first = MappedCmvCache.open(path, 64);
+             MappedCmvCache second = MappedCmvCache.open(path, 8)) {
+            first.decide(LCM, 1, track, parameters(8));
+            second.decide(LCM, 1, track, parameters(8));
+            assertEquals(1, first.misses());
+            assertEquals(1, second.hits());
+
+            second.decide(LCM, 1, track, parameters(9));
+            first.decide(LCM, 1, track, parameters(9));
+            assertEquals(1, first.hits());
+        }
+        assertEquals(MappedCmvCache.HEADER_SIZE + 64 * MappedCmvCache.SLOT_SIZE, Files.size(path));
+    }
+
+    /**
+     * Verifies that callers deciding the same key at the same time store it in one slot, and
+     * that no slot is left reserved.
+     * <p>
+     * Test setup: 8 threads that wait for each other before each of 2000 rounds and then decide
+     * the same track under the same parameters, which differ from round to round, every LCM
+     * entry ANDD and every PUV entry set.
+     * Expected outcome: 2000 occupied slots after all rounds, each holding a different key.
+     * </p>
+     */
+    @Test
+    void decide_sameKeyConcurrently_claimsOneSlot() throws Exception {
+        Connectors[][] connectors = new Connectors[15][15];
+        for (Connectors[] row : connectors)
+            Arrays.fill(row, Connectors.ANDD);
+        PackedLcm LCM = PackedLcm.of(connectors);
+        Track track = randomTrack(new Random(26), 50, 5);
+        Path path = dir.resolve("cmv.cache");
+        int threads = 8, rounds = 2000;
+        String[] expected = new String[rounds];
+        for (int round = 0; round < rounds; round++) {
+            expected[round] = Decide.decide(LCM, Evaluator.ALL, track, parameters(round));
+        }
+
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (MappedCmvCache cache = MappedCmvCache.open(path, 8192)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                workers.add(executor.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        start.await();
+                        assertEquals(expected[round], cache.decide(LCM, Evaluator.ALL, track, parameters(round)),
+                                "round " + round);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        List<String> keys = new ArrayList<>();
+        for (int slot = 0; slot < 8192; slot++) {
+            int offset = MappedCmvCache.HEADER_SIZE + slot * MappedCmvCache.SLOT_SIZE;
+            long first = file.getLong(offset);
+            assertNotEquals(MappedCmvCache.RESERVED, first, "slot " + slot);
+            if (first != 0) keys.add(first + ":" + file.getLong(offset + 8));
+        }
+        assertEquals(rounds, keys.size());
+        assertEquals(rounds, keys.stream().distinct().count());
+    }
+
+    /**
+     * Verifies that decisions are still correct when the table is too small to store them all.
+     * <p>
+     * Test setup: a table of 4 slots and 40 different tracks, each decided twice under an LCM
+     * of ANDD entries with every PUV entry set.
+     * </p>
+     */
+    @Test
+    void decide_fullTable_matchesDecide() throws IOException {
+        Random random = new Random(4);
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+        boolean[] PUV = new boolean[15];
+        Arrays.fill(PUV, true);
+
+        try (MappedCmvCache cache = MappedCmvCache.open(dir.resolve("cmv.cache"), 4)) {
+            for (int run = 0; run < 80; run++) {
+                Track track = randomTrack(new Random(random.nextInt(40)), 20, 5);
+                assertEquals(Decide.decide(LCM, PUV, track, parameters(1)),
+                        cache.decide(PackedLcm.of(LCM), Utils.pack(PUV), track, parameters(1)), "run " + run);
+            }
+        }
+    }
+
+    /**
+     * Verifies that a file that is not a cache file is rejected.
+     */
+    @Test
+    void open_notACacheFile_throwsException() throws IOException {
+        Path path = dir.resolve("other");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> MappedCmvCache.open(path, 16));
+    }
+
+    /**
+     * Verifies that the number of slots must be a power of two.
+     */
+    @Test
+    void open_slotsNotPowerOfTwo_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> MappedCmvCache.open(dir.resolve("cmv.cache"), 12));
+    }
+}
@@ -0,0 +1,142 @@
+package se.kth.dd2480.group15.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.Decide;
+import se.kth.dd2480.group15.model.Connectors;
+import se.kth.dd2480.group15.model.PackedLcm;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+class SingleFlightDecideTest {
+
+    private static final int CALLERS = 8;
+
+    /**
+     * Verifies that identical requests made while one of them is being decided wait for it.
+     * <p>
+     * Test setup: 8 threads decide the same request. The track holds the thread that evaluates
+     * the LICs, after it has hashed the track, until the other 7 are waiting for it.
+     * Expected outcome: all 8 get the decision of {@code Decide.decide}; 1 request is
+     * decided and 7 are coalesced.
+     * </p>
+     */
+    @Test
+    void decide_concurrentIdenticalRequests_decidedOnce() throws Exception {
+        SingleFlightDecide singleFlight = new SingleFlightDecide();
+        GatedTrack track = new GatedTrack(singleFlight, false);
+        Connectors[][] LCM = lcm();
+        String expected = Decide.decide(PackedLcm.of(LCM), 7, track.points, parameters());
+
+        List<String> decisions = new ArrayList<>();
+        for (Future<String> decision : decideConcurrently(singleFlight, track, LCM))
+            decisions.add(decision.get());
+
+        assertEquals(List.of(expected, expected, expected, expected, expected, expected, expected, expected), decisions);
+        assertEquals(1, singleFlight.computed());
+        assertEquals(CALLERS - 1, singleFlight.coalesced());
+    }
+
+    /**
+     * Verifies that the requests waiting for a failed decision fail with its exception, and
+     * that the failed request is decided again afterwards.
+     * <p>
+     * Test setup: as above, but the track throws once the waiting requests are released.
+     * </p>
+     */
+    @Test
+    void decide_firstCallerFails_allFail() throws Exception {
+        SingleFlightDecide singleFlight = new SingleFlightDecide();
+        GatedTrack track = new GatedTrack(singleFlight, true);
+        Connectors[][] LCM = lcm();
+
+        for (Future<String> decision : decideConcurrently(singleFlight, track, LCM)) {
+            ExecutionException e = assertThrows(ExecutionException.class, decision::get);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+
+        singleFlight.decide(PackedLcm.of(LCM), 7, track.points, parameters());
+        assertEquals(2, singleFlight.computed());
+    }
+
+    private static List<Future<String>> decideConcurrently(SingleFlightDecide singleFlight, Track track,
+                                                           Connectors[][] LCM) {
+        PackedLcm packedLCM = PackedLcm.of(LCM);
+        List<Future<String>> decisions = new ArrayList<>();
+        try (ExecutorService threads = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++)
+                decisions.add(threads.submit(() -> singleFlight.decide(packedLCM, 7, track, parameters())));
+        }
+        return decisions;
+    }
+
+    private static Connectors[][] lcm() {
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+        return LCM;
+    }
+
+    private static Parameters parameters() {
+        return Parameters.builder().length1(1).radius1(1).area1(1).build();
+    }
+
+    /**
+     * A track of 100 points that holds the first thread to read it more than to hash it until
+     * every other caller waits for that thread's decision, and then optionally fails it.
+     */
+    private static final class GatedTrack implements Track {
+        private final Track points;
+        private final SingleFlightDecide singleFlight;
+        private final boolean fail;
+        private final ThreadLocal<int[]> reads = ThreadLocal.withInitial(() -> new int[1]);
+
+        GatedTrack(SingleFlightDecide singleFlight, boolean fail) {
+            double[] xs = new double[100];
+            double[] ys = new double[100];
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = i % 7;
+                ys[i] = (i * i) % 5;
+            }
+            this.points = Track.of(xs, ys);
+            this.singleFlight = singleFlight;
+            this.fail = fail;
+        }
+
+        @Override
+        public int size() {
+            return points.size();
+        }
+
+        @Override
+        public double x(int i) {
+            read();
+            return points.x(i);
+        }
+
+        @Override
+        public double y(int i) {
+            read();
+            return points.y(i);
+        }
+
+        private void read() {
+            // Hashing reads each coordinate once; any further read is the LICs
+            if (++reads.get()[0] == 2 * size() + 1) {
+                while (singleFlight.coalesced() < CALLERS - 1) Thread.onSpinWait();
+                if (fail) throw new IllegalStateException("The track failed.");
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package se.kth.dd2480.group15.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import se.kth.dd2480.group15.model.LicEvaluator;
+import se.kth.dd2480.group15.model.Parameters;
+import se.kth.dd2480.group15.model.Track;
+
+class TrackFileTest {
+
+    private final Track track = Track.of(new double[]{0, 2, 0, -1, 2}, new double[]{0, 0, 2, -1, 0});
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Verifies that a track written with the interleaved layout is mapped back with the same
+     * coordinates.
+     */
+    @Test
+    void map_interleaved_returnsWrittenPoints() throws IOException {
+        Path path = dir.resolve("interleaved.trk");
+        TrackFile.write(path, track, TrackFile.Layout.INTERLEAVED);
+
+        try (Arena arena = Arena.ofConfined()) {
+            assertSamePoints(track, TrackFile.map(path, arena));
+        }
+    }
+
+    /**
+     * Verifies that a track written with the columnar layout is mapped back with the same
+     * coordinates.
+     */
+    @Test
+    void map_columnar_returnsWrittenPoints() throws IOException {
+        Path path = dir.resolve("columnar.trk");
+        TrackFile.write(path, track, TrackFile.Layout.COLUMNAR);
+
+        try (Arena arena = Arena.ofConfined()) {
+            assertSamePoints(track, TrackFile.map(path, arena));
+        }
+    }
+
+    /**
+     * Verifies that the LICs evaluate a mapped track to the same CMV as the track it was
+     * written from.
+     */
+    @Test
+    void evaluateLics_mappedTrack_matchesOriginal() throws IOException {
+        Path path = dir.resolve("track.trk");
+        TrackFile.write(path, track, TrackFile.Layout.INTERLEAVED);
+        LicEvaluator evaluator = new LicEvaluator();
+        Parameters params = Parameters.builder()
+                .length1(2.5)
+                .radius1(1)
+                .epsilon(Math.PI / 6)
+                .area1(1.5)
+                .qPts(3)
+                .quads(2)
+                .nPts(3)
+                .build();
+
+        try (Arena arena = Arena.ofConfined()) {
+            assertArrayEquals(evaluator.evaluateLics(track, params),
+                    evaluator.evaluateLics(TrackFile.map(path, arena), params));
+        }
+    }
+
+    /**
+     * Verifies that mapping a file without the track file header fails.
+     */
+    @Test
+    void map_notATrackFile_throwsException() throws IOException {
+        Path path = dir.resolve("other.bin");
+        Files.write(path, new byte[64]);
+
+        try (Arena arena = Arena.ofConfined()) {
+            assertThrows(IOException.class, () -> TrackFile.map(path, arena));
+        }
+    }
+
+    /**
+     * Verifies that mapping a file whose header claims more points than the file holds fails.
+     */
+    @Test
+    void map_truncatedFile_throwsException() throws IOException {
+        Path path = dir.resolve("truncated.trk");
+        TrackFile.write(path, track, TrackFile.Layout.COLUMNAR);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+
+        try (Arena arena = Arena.ofConfined()) {
+            assertThrows(IOException.class, () -> TrackFile.map(path, arena));
+        }
+    }
+
+    private static void assertSamePoints(Track expected, Track actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.x(i), actual.x(i));
+            assertEquals(expected.y(i), actual.y(i));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ArrayTrackTest {
+
+    /**
+     * Verifies that {@code copyOf} copies the coordinates of the first {@code numPoints} points
+     * in order.
+     * <p>
+     * Test setup: 3 points (1,2), (3,4), (5,6) of which the first 2 are copied.
+     * </p>
+     */
+    @Test
+    void copyOf_copiesFirstNumPoints() {
+        Point[] points = {new Point(1, 2), new Point(3, 4), new Point(5, 6)};
+
+        ArrayTrack track = ArrayTrack.copyOf(points, 2);
+
+        assertEquals(2, track.size());
+        assertEquals(1, track.x(0));
+        assertEquals(2, track.y(0));
+        assertEquals(3, track.x(1));
+        assertEquals(4, track.y(1));
+    }
+
+    /**
+     * Verifies that a negative {@code numPoints} yields an empty track, for which every LIC
+     * is false, instead of failing.
+     */
+    @Test
+    void copyOf_negativeNumPoints_returnsEmptyTrack() {
+        ArrayTrack track = ArrayTrack.copyOf(new Point[]{new Point(1, 2)}, -1);
+
+        assertEquals(0, track.size());
+    }
+
+    /**
+     * Verifies that a track cannot be created from coordinate arrays of different lengths.
+     */
+    @Test
+    void constructor_differentLengths_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArrayTrack(new double[]{1, 2}, new double[]{1}));
+    }
+}
@@ -0,0 +1,85 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CompiledPolicyTest {
+
+    /**
+     * Verifies that the compiled lookup gives the same decision as the PUM, FUV and LAUNCH
+     * evaluation for every possible CMV.
+     * <p>
+     * Test setup: 5 random LCMs and PUVs, where an LCM entry is ANDD, ORR, NOTUSED or missing
+     * ({@code null}) and mostly NOTUSED, so that both decisions occur.
+     * </p>
+     */
+    @Test
+    void launch_matchesEvaluator() {
+        Evaluator evaluator = new Evaluator();
+        Random random = new Random(9);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED,
+                Connectors.NOTUSED, Connectors.NOTUSED, Connectors.NOTUSED, Connectors.NOTUSED, null};
+
+        for (int run = 0; run < 5; run++) {
+            Connectors[][] LCM = new Connectors[15][15];
+            for (Connectors[] row : LCM)
+                for (int j = 0; j < 15; j++)
+                    row[j] = connectors[random.nextInt(connectors.length)];
+            PackedLcm packedLCM = PackedLcm.of(LCM);
+            int PUV = random.nextInt(1 << 15) & random.nextInt(1 << 15);
+
+            CompiledPolicy policy = CompiledPolicy.compile(packedLCM, PUV);
+
+            for (int CMV = 0; CMV < 1 << 15; CMV++)
+                assertEquals(evaluator.evaluateLAUNCH(evaluator.evaluateFUV(packedLCM, CMV, PUV)), policy.launch(CMV));
+        }
+    }
+
+    /**
+     * Verifies that the support contains exactly the LICs that can change the decision.
+     * <p>
+     * Test setup: All LCM entries are NOTUSED except LCM[2][7] = ANDD and LCM[4][4] = ORR.
+     * Only PUV[2] is set, so LICs 2 and 7 matter and LIC 4 does not.
+     * </p>
+     */
+    @Test
+    void support_containsOnlyRelevantLics() {
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.NOTUSED);
+        LCM[2][7] = Connectors.ANDD;
+        LCM[4][4] = Connectors.ORR;
+        boolean[] PUV = new boolean[15];
+        PUV[2] = true;
+
+        CompiledPolicy policy = CompiledPolicy.compile(LCM, PUV);
+
+        assertEquals((1 << 2) | (1 << 7), policy.support());
+        assertTrue(policy.launch((1 << 2) | (1 << 7)));
+        assertFalse(policy.launch(1 << 2));
+    }
+
+    /**
+     * Verifies that deciding from a lazy CMV only evaluates the LICs in the support.
+     * <p>
+     * Test setup: Every PUV entry is false, so the support is empty and LAUNCH is always true.
+     * </p>
+     */
+    @Test
+    void launch_lazyCmv_evaluatesOnlySupport() {
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+        CompiledPolicy policy = CompiledPolicy.compile(LCM, new boolean[15]);
+        LazyCmv CMV = new LazyCmv(lic -> { throw new AssertionError("LIC " + lic + " was evaluated"); });
+
+        assertEquals(0, policy.support());
+        assertTrue(policy.launch(CMV));
+    }
+}
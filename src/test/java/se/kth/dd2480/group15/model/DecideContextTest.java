@@ -0,0 +1,139 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static se.kth.dd2480.group15.Fixtures.parameters;
+import static se.kth.dd2480.group15.Fixtures.randomTrack;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.utils.Utils;
+
+class DecideContextTest {
+
+    /**
+     * Verifies that a context reused across decisions decides like a fresh lazy CMV each time.
+     * <p>
+     * Test setup: 500 random LCMs, PUVs and tracks of 5-50 points, all decided with the same
+     * context, so that every decision starts from the CMV of the previous one.
+     * </p>
+     */
+    @Test
+    void launch_reused_matchesFreshCmv() {
+        Random random = new Random(21);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED};
+        Parameters params = parameters(8);
+        Evaluator evaluator = new Evaluator();
+        DecideContext context = new DecideContext();
+
+        for (int run = 0; run < 500; run++) {
+            Track track = randomTrack(random, 5 + random.nextInt(46), 5);
+            Connectors[][] LCM = new Connectors[15][15];
+            boolean[] PUV = new boolean[15];
+            for (int i = 0; i < 15; i++) {
+                PUV[i] = random.nextInt(5) == 0;
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = connectors[random.nextInt(connectors.length)];
+            }
+            PackedLcm packedLCM = PackedLcm.of(LCM);
+
+            boolean expected = evaluator.evaluateLAUNCH(packedLCM, new LazyCmv(track, params), Utils.pack(PUV));
+            assertEquals(expected, context.launch(packedLCM, Utils.pack(PUV), track, params), "run " + run);
+        }
+    }
+
+    /**
+     * Verifies that each thread has its own context, and keeps it.
+     */
+    @Test
+    void current_sameThread_returnsSameContext() throws InterruptedException {
+        DecideContext context = DecideContext.current();
+        DecideContext[] other = new DecideContext[1];
+        Thread thread = new Thread(() -> other[0] = DecideContext.current());
+        thread.start();
+        thread.join();
+
+        assertSame(context, DecideContext.current());
+        assertTrue(other[0] != null && other[0] != context);
+    }
+
+    /**
+     * Verifies that a decision with a warmed-up context allocates nothing.
+     * <p>
+     * Test setup: 2000 points with integer coordinates in [-10, 10], parameters under which every
+     * LIC is satisfied, every LCM entry ANDD and every PUV entry set, so that all 15 LICs are
+     * evaluated. After a warm-up, 1000 decisions must allocate less than 1 KB in total, which
+     * leaves room for the allocation counter itself but not for a single object per decision.
+     * </p>
+     */
+    @Test
+    void launch_warmedUp_allocatesNothing() {
+        Random random = new Random(22);
+        Parameters params = Parameters.builder().length1(1).radius1(1).epsilon(0.1).area1(1).qPts(3).quads(1)
+                .nPts(5).dist(1).kPts(1).aPts(1).bPts(1).cPts(1).dPts(1).ePts(1).fPts(1).gPts(1)
+                .length2(1000).radius2(1000).area2(1000).build();
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+
+        assertAllocatesNothing(randomTrack(random, 2000, 10), params, PackedLcm.of(LCM), Evaluator.ALL, true, 1000);
+    }
+
+    /**
+     * Verifies that a decision with a warmed-up context allocates nothing when LIC 6 answers its
+     * windows from the convex hulls, which are rebuilt for every decision.
+     * <p>
+     * Test setup: 4000 points with integer coordinates in [-10, 10] and N_PTS = 500, so that LIC 6
+     * builds hulls. Only PUV[6] is set and row 6 connects LIC 6 with LIC 0 by ANDD; LIC 0 is
+     * satisfied and LIC 6 is not (DIST = 100), so every window of LIC 6 is checked. After a
+     * warm-up, 50 decisions must allocate less than 1 KB in total.
+     * </p>
+     */
+    @Test
+    void launch_largeWindow_allocatesNothing() {
+        Random random = new Random(23);
+        Parameters params = Parameters.builder().length1(1).nPts(500).dist(100).build();
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.NOTUSED);
+        LCM[6][0] = Connectors.ANDD;
+        LCM[0][6] = Connectors.ANDD;
+
+        assertAllocatesNothing(randomTrack(random, 4000, 10), params, PackedLcm.of(LCM), 1 << 6, false, 50);
+    }
+
+    /**
+     * Asserts that {@code decisions} decisions, after as many to warm up, allocate less than
+     * 1 KB. The track is wrapped in a view so that the scalar loops run: the vector kernels
+     * allocate their vectors until the JIT has compiled them.
+     */
+    private static void assertAllocatesNothing(Track track, Parameters params, PackedLcm LCM, int PUV,
+                                               boolean expected, int decisions) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        Track view = new Track() {
+            public int size() { return track.size(); }
+            public double x(int i) { return track.x(i); }
+            public double y(int i) { return track.y(i); }
+        };
+        DecideContext context = new DecideContext();
+
+        for (int i = 0; i < decisions; i++) {
+            context.launch(LCM, PUV, view, params);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < decisions; i++) {
+            assertEquals(expected, context.launch(LCM, PUV, view, params));
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
@@ -1,10 +1,15 @@
 package se.kth.dd2480.group15.model;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static se.kth.dd2480.group15.utils.Utils.allTrue;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.utils.Utils;
 
 class EvaluatorTest {
 
@@ -354,4 +359,156 @@ class EvaluatorTest {
         boolean launch = evaluator.evaluateLAUNCH(FUV);
         assertFalse(launch);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that the lazy {@code evaluateLAUNCH} makes the same decision as the eager
+     * PUM, FUV and LAUNCH pipeline.
+     * <p>
+     * Test setup: 1000 random CMVs, PUVs and LCMs, where an LCM entry is ANDD, ORR, NOTUSED
+     * or missing ({@code null}).
+     * </p>
+     */
+    @Test
+    void evaluateLAUNCH_lazyMatchesEager() {
+        Evaluator evaluator = new Evaluator();
+        Random random = new Random(2480);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, null};
+
+        for (int run = 0; run < 1000; run++) {
+            boolean[] CMV = new boolean[15];
+            boolean[] PUV = new boolean[15];
+            Connectors[][] LCM = new Connectors[15][15];
+            for (int i = 0; i < 15; i++) {
+                CMV[i] = random.nextInt(4) != 0;
+                PUV[i] = random.nextInt(3) == 0;
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = connectors[random.nextInt(connectors.length)];
+            }
+
+            boolean eager = evaluator.evaluateLAUNCH(evaluator.evaluateFUV(evaluator.evaluatePUM(LCM, CMV), PUV));
+            boolean lazy = evaluator.evaluateLAUNCH(LCM, new LazyCmv(lic -> CMV[lic]), PUV);
+
+            assertEquals(eager, lazy);
+        }
+    }
+
+    /**
+     * Verifies that the packed PUM rows and FUV equal the boolean ones.
+     * <p>
+     * Test setup: 1000 random CMVs, PUVs and LCMs, where an LCM entry is ANDD, ORR, NOTUSED
+     * or missing ({@code null}).
+     * </p>
+     */
+    @Test
+    void evaluateFUV_packedMatchesBoolean() {
+        Evaluator evaluator = new Evaluator();
+        Random random = new Random(15);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, null};
+
+        for (int run = 0; run < 1000; run++) {
+            boolean[] CMV = new boolean[15];
+            boolean[] PUV = new boolean[15];
+            Connectors[][] LCM = new Connectors[15][15];
+            for (int i = 0; i < 15; i++) {
+                CMV[i] = random.nextBoolean();
+                PUV[i] = random.nextBoolean();
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = connectors[random.nextInt(connectors.length)];
+            }
+            PackedLcm packedLCM = PackedLcm.of(LCM);
+
+            boolean[][] PUM = evaluator.evaluatePUM(LCM, CMV);
+            for (int i = 0; i < 15; i++)
+                assertEquals(Utils.pack(PUM[i]), evaluator.evaluatePUM(packedLCM, Utils.pack(CMV), i));
+            assertEquals(Utils.pack(evaluator.evaluateFUV(PUM, PUV)),
+                    evaluator.evaluateFUV(packedLCM, Utils.pack(CMV), Utils.pack(PUV)));
+        }
+    }
+
+    /**
+     * Verifies that no LIC is evaluated when every PUV entry is false, since every FUV entry
+     * is then true regardless of the CMV.
+     */
+    @Test
+    void evaluateLAUNCH_lazyPuvAllFalse_evaluatesNoLic() {
+        Evaluator evaluator = new Evaluator();
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.ANDD);
+        LazyCmv CMV = new LazyCmv(lic -> { throw new AssertionError("LIC " + lic + " was evaluated"); });
+
+        assertTrue(evaluator.evaluateLAUNCH(LCM, CMV, new boolean[15]));
+    }
+
+    /**
+     * Verifies that the lazy {@code evaluateLAUNCH} stops at the first false FUV entry and
+     * skips the LICs only needed by later rows, and that an ORR entry skips the more expensive
+     * LIC when the cheaper one is true.
+     * <p>
+     * Test setup: Only PUV[0] and PUV[1] are set. Row 0 connects LIC 0 with LIC 6 by ORR and
+     * is otherwise NOTUSED; row 1 connects LIC 1 with itself and LIC 9 by ANDD. LIC 0 is true
+     * and LIC 1 is false, so LAUNCH is false.
+     * Expected outcome: only LICs 0 and 1 are evaluated.
+     * </p>
+     */
+    @Test
+    void evaluateLAUNCH_lazyShortCircuits() {
+        Evaluator evaluator = new Evaluator();
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.NOTUSED);
+        LCM[0][6] = Connectors.ORR;
+        LCM[1][1] = Connectors.ANDD;
+        LCM[1][9] = Connectors.ANDD;
+        boolean[] PUV = new boolean[15];
+        PUV[0] = true;
+        PUV[1] = true;
+        LazyCmv CMV = new LazyCmv(lic -> lic == 0);
+
+        assertFalse(evaluator.evaluateLAUNCH(LCM, CMV, PUV));
+        for (int lic = 0; lic < 15; lic++)
+            assertEquals(lic == 0 || lic == 1, CMV.isEvaluated(lic), "LIC " + lic);
+    }
+
+    /**
+     * Verifies that LAUNCH from a partial CMV is decided exactly when every completion of the
+     * unknown entries gives the same decision, and is then that decision.
+     * <p>
+     * Test setup: 300 random LCMs, PUVs and partial CMVs with at most 4 unknown entries, each
+     * compared against all completions of the unknown entries. An LCM entry is ANDD, ORR,
+     * NOTUSED or missing ({@code null}).
+     * </p>
+     */
+    @Test
+    void evaluateLAUNCH_partialCmv_matchesAllCompletions() {
+        Evaluator evaluator = new Evaluator();
+        Random random = new Random(20);
+        Connectors[] connectors = {Connectors.ANDD, Connectors.ORR, Connectors.NOTUSED, Connectors.NOTUSED};
+
+        for (int run = 0; run < 300; run++) {
+            Connectors[][] LCM = new Connectors[15][15];
+            for (int i = 0; i < 15; i++)
+                for (int j = 0; j < 15; j++)
+                    LCM[i][j] = random.nextInt(50) == 0 ? null : connectors[random.nextInt(connectors.length)];
+            PackedLcm packedLCM = PackedLcm.of(LCM);
+            int PUV = random.nextInt(1 << 15) & random.nextInt(1 << 15);
+            int CMV = random.nextInt(1 << 15) | random.nextInt(1 << 15);
+            int[] unknown = random.ints(4, 0, 15).toArray();
+            int known = Evaluator.ALL;
+            for (int lic : unknown)
+                known &= ~(1 << lic);
+
+            boolean anyYes = false, anyNo = false;
+            for (int completion = 0; completion < 1 << unknown.length; completion++) {
+                int full = CMV & known;
+                for (int k = 0; k < unknown.length; k++)
+                    if ((completion & (1 << k)) != 0) full |= 1 << unknown[k];
+                if (evaluator.evaluateLAUNCH(evaluator.evaluateFUV(packedLCM, full, PUV))) anyYes = true;
+                else anyNo = true;
+            }
+
+            Boolean partial = evaluator.evaluateLAUNCH(packedLCM, CMV, known, PUV);
+            assertEquals(anyYes && anyNo ? null : anyYes, partial, "run " + run);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.utils.Utils;
+
+class HullTreeTest {
+
+    /**
+     * Verifies that the hulls answer every window like the point-by-point check.
+     * <p>
+     * Test setup: 2000 points with integer coordinates in [-10, 10], so that many points tie,
+     * windows of 100, 300 and 1000 points, and for each window DIST equal to the distance of a
+     * random point of the window from its line, and slightly below and above it.
+     * </p>
+     */
+    @Test
+    void isFartherFromLine_integerGrid_matchesScan() {
+        Random random = new Random(21);
+        double[] xs = new double[2000], ys = new double[2000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        assertMatchesScan(Track.of(xs, ys), random);
+    }
+
+    /**
+     * Verifies that the hulls answer every window like the point-by-point check when most
+     * points are hull vertices.
+     * <p>
+     * Test setup: 2000 points on a slowly turning spiral with random noise, so that long runs of
+     * points are in convex position.
+     * </p>
+     */
+    @Test
+    void isFartherFromLine_spiral_matchesScan() {
+        Random random = new Random(22);
+        double[] xs = new double[2000], ys = new double[2000];
+        for (int i = 0; i < xs.length; i++) {
+            double angle = i * 0.01;
+            double radius = 100 + i * 0.05;
+            xs[i] = radius * Math.cos(angle) + random.nextDouble() * 1e-3;
+            ys[i] = radius * Math.sin(angle) + random.nextDouble() * 1e-3;
+        }
+        assertMatchesScan(Track.of(xs, ys), random);
+    }
+
+    /**
+     * Verifies that windows whose first and last point coincide are measured from that point.
+     * <p>
+     * Test setup: A track through random points that returns to the origin every 50 points, so
+     * that windows of 51 and 101 points start and end on the origin, and one that stays on the
+     * origin, so that all distances are 0.
+     * </p>
+     */
+    @Test
+    void isFartherFromLine_coincidentEnds_matchesScan() {
+        Random random = new Random(23);
+        double[] xs = new double[2000], ys = new double[2000];
+        for (int i = 0; i < xs.length; i++) {
+            if (i % 50 != 0) {
+                xs[i] = random.nextGaussian() * 100;
+                ys[i] = random.nextGaussian() * 100;
+            }
+        }
+        assertMatchesScan(Track.of(xs, ys), random, 51, 101);
+        assertMatchesScan(Track.of(new double[500], new double[500]), random, 64, 200);
+    }
+
+    /**
+     * Verifies that no hulls are built over coordinates that are not finite.
+     */
+    @Test
+    void of_nonFiniteCoordinate_returnsNull() {
+        double[] xs = new double[100], ys = new double[100];
+        ys[40] = Double.NaN;
+        assertNull(HullTree.of(Track.of(xs, ys), 64));
+    }
+
+    /**
+     * Verifies that a tree limited to fewer vertices than its levels need keeps the levels that
+     * fit and still answers every window like the point-by-point check, and that it has no
+     * hulls if the lowest level does not fit.
+     * <p>
+     * Test setup: 2000 points on a convex arc, so that every point is a hull vertex on every
+     * level, read through a view that is not backed by arrays. A budget of 9000 vertices holds
+     * two of the five levels; a budget of 1000 not even the lowest.
+     * </p>
+     */
+    @Test
+    void build_overBudget_keepsLevelsThatFit() {
+        double[] xs = new double[2000], ys = new double[2000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 1000 * Math.cos(i * 1e-3);
+            ys[i] = 1000 * Math.sin(i * 1e-3);
+        }
+        Track arc = Track.of(xs, ys);
+        Track track = new Track() {
+            public int size() { return arc.size(); }
+            public double x(int i) { return arc.x(i); }
+            public double y(int i) { return arc.y(i); }
+        };
+
+        HullTree hulls = new HullTree(9000);
+        assertTrue(hulls.build(track, 998));
+        assertMatchesScan(track, hulls, new Random(24), 1000);
+        assertFalse(new HullTree(1000).build(track, 998));
+    }
+
+    /**
+     * Verifies that rebuilding a tree over another track answers for the new track, and that
+     * the tree is only reused for the track it was built for.
+     * <p>
+     * Test setup: the integer grid and then the spiral of the tests above, built into the same
+     * tree.
+     * </p>
+     */
+    @Test
+    void build_again_answersForNewTrack() {
+        Random random = new Random(25);
+        double[] xs = new double[2000], ys = new double[2000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        Track grid = Track.of(xs, ys);
+        double[] spiralXs = new double[1500], spiralYs = new double[1500];
+        for (int i = 0; i < spiralXs.length; i++) {
+            spiralXs[i] = (100 + i * 0.05) * Math.cos(i * 0.01);
+            spiralYs[i] = (100 + i * 0.05) * Math.sin(i * 0.01);
+        }
+        Track spiral = Track.of(spiralXs, spiralYs);
+
+        HullTree hulls = new HullTree();
+        assertTrue(hulls.build(grid, 298));
+        assertTrue(hulls.isBuiltFor(grid, 100));
+        assertFalse(hulls.isBuiltFor(grid, 500));
+        assertTrue(hulls.build(spiral, 298));
+        assertFalse(hulls.isBuiltFor(grid, 298));
+        assertMatchesScan(spiral, hulls, random, 300);
+
+        hulls.release();
+        assertFalse(hulls.isBuiltFor(spiral, 298));
+    }
+
+    private static void assertMatchesScan(Track track, Random random) {
+        assertMatchesScan(track, random, 100, 300, 1000);
+    }
+
+    private static void assertMatchesScan(Track track, Random random, int... windowLengths) {
+        for (int nPts : windowLengths) {
+            assertMatchesScan(track, HullTree.of(track, nPts - 2), random, nPts);
+        }
+    }
+
+    private static void assertMatchesScan(Track track, HullTree hulls, Random random, int nPts) {
+        for (int first = 0; first + nPts <= track.size(); first++) {
+            int last = first + nPts - 1;
+            double at = distance(track, first, last, first + 1 + random.nextInt(nPts - 2));
+            for (double dist : new double[] {at, Math.nextDown(at), Math.nextUp(at), at * 0.99, at * 1.01}) {
+                double squaredDist = Utils.squaredThreshold(dist);
+                assertEquals(LicEvaluator.isFartherFromLine(track, first, last, dist, squaredDist),
+                             hulls.isFartherFromLine(first, last, dist, squaredDist),
+                             "nPts " + nPts + ", window " + first + ", DIST " + dist);
+            }
+        }
+    }
+
+    /**
+     * The distance of point i from the line of the window, as measured by LIC 6.
+     */
+    private static double distance(Track track, int first, int last, int i) {
+        double first_x = track.x(first), first_y = track.y(first);
+        double last_x = track.x(last), last_y = track.y(last);
+        if (first_x == last_x && first_y == last_y) {
+            return Math.hypot(track.x(i) - first_x, track.y(i) - first_y);
+        }
+        double dy = last_y - first_y;
+        double dx = last_x - first_x;
+        double constant = (last_x * first_y) - (last_y * first_x);
+        return Math.abs(dy * track.x(i) + dx * track.y(i) + constant) / Math.sqrt(dy * dy + dx * dx);
+    }
+}
@@ -0,0 +1,54 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LazyCmvTest {
+
+    /**
+     * Verifies that a LIC is evaluated on its first access only.
+     * <p>
+     * Test setup: A CMV that counts how often LIC 3 is computed, read three times.
+     * </p>
+     */
+    @Test
+    void get_evaluatesEachLicOnce() {
+        int[] evaluations = new int[15];
+        LazyCmv CMV = new LazyCmv(lic -> ++evaluations[lic] > 0);
+
+        assertFalse(CMV.isEvaluated(3));
+        assertTrue(CMV.get(3));
+        assertTrue(CMV.get(3));
+        assertTrue(CMV.get(3));
+
+        assertTrue(CMV.isEvaluated(3));
+        assertEquals(1, evaluations[3]);
+    }
+
+    /**
+     * Verifies that the full lazy CMV equals the CMV computed by {@code evaluateLics}.
+     * <p>
+     * Test setup: The 5 data points (0,0), (2,0), (0,2), (-1,-1), (2,0) with parameters for
+     * which some LICs are true and some are false.
+     * </p>
+     */
+    @Test
+    void toArray_matchesEvaluateLics() {
+        Track track = Track.of(new double[]{0, 2, 0, -1, 2}, new double[]{0, 0, 2, -1, 0});
+        Parameters params = Parameters.builder()
+                .length1(2.5)
+                .radius1(1)
+                .epsilon(Math.PI / 6)
+                .area1(1.5)
+                .qPts(3)
+                .quads(2)
+                .nPts(3)
+                .build();
+
+        assertArrayEquals(new LicEvaluator().evaluateLics(track, params), new LazyCmv(track, params).toArray());
+    }
+}
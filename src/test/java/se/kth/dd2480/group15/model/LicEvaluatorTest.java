@@ -1,7 +1,19 @@
 package se.kth.dd2480.group15.model;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.jupiter.api.Test;
 
 class LicEvaluatorTest {
@@ -989,4 +1001,427 @@ class LicEvaluatorTest {
         boolean[] results = evaluator.evaluateLics(numpoints, points, params);
         assertTrue(results.length == 15);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that {@code evaluateLics} gives the same result for a {@link Track} as for
+     * the equivalent array of points.
+     * <p>
+     * Test setup: The 5 data points (0,0), (2,0), (0,2), (-1,-1), (2,0) with parameters for
+     * which some LICs are true and some are false.
+     * </p>
+     */
+    @Test
+    void evaluateLics_trackMatchesPointArray() {
+        LicEvaluator evaluator = new LicEvaluator();
+        Point[] points = {new Point(0, 0), new Point(2, 0), new Point(0, 2), new Point(-1, -1), new Point(2, 0)};
+        Track track = Track.of(new double[]{0, 2, 0, -1, 2}, new double[]{0, 0, 2, -1, 0});
+        Parameters params = Parameters.builder()
+                .length1(2.5)
+                .radius1(1)
+                .epsilon(Math.PI / 6)
+                .area1(1.5)
+                .qPts(3)
+                .quads(2)
+                .nPts(3)
+                .build();
+
+        assertArrayEquals(evaluator.evaluateLics(points.length, points, params), evaluator.evaluateLics(track, params));
+    }
+
+    /**
+     * Verifies that {@code evaluateLicsFused} gives the same CMV as {@code evaluateLics}.
+     * <p>
+     * Test setup: 200 random points with integer coordinates in [-10, 10], evaluated with a
+     * few parameter sets that each leave some LICs false, so the sweep cannot stop early for
+     * all of them.
+     * </p>
+     */
+    @Test
+    void evaluateLicsFused_matchesEvaluateLics() {
+        LicEvaluator evaluator = new LicEvaluator();
+        Random random = new Random(8);
+        double[] xs = new double[200];
+        double[] ys = new double[200];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        Track track = Track.of(xs, ys);
+
+        for (int window = 1; window <= 4; window++) {
+            Parameters params = Parameters.builder()
+                    .length1(12 * window).radius1(6 * window).epsilon(Math.PI / (window + 1)).area1(40 * window)
+                    .qPts(window + 1).quads(window).dist(6).nPts(window + 2).kPts(window).aPts(window).bPts(1)
+                    .cPts(1).dPts(window).ePts(window).fPts(2).gPts(window).length2(window).radius2(window)
+                    .area2(window)
+                    .build();
+
+            assertArrayEquals(evaluator.evaluateLics(track, params), evaluator.evaluateLicsFused(track, params));
+        }
+    }
+
+    /**
+     * Verifies that the single pass answers the large windows of LIC 6 from hulls as
+     * {@code Lic6} does.
+     * <p>
+     * Test setup: 20 000 random points with integer coordinates in [-10, 10], so that LIC 6
+     * builds hulls once it has scanned the first windows, with N_PTS from 256 to 2 048 and DIST
+     * around the largest distance from the line of a window, so that LIC 6 is true for some
+     * parameters and false for others.
+     * </p>
+     */
+    @Test
+    void evaluateLicsFused_largeWindow_matchesLic6() {
+        LicEvaluator evaluator = new LicEvaluator();
+        Random random = new Random(9);
+        double[] xs = new double[20_000];
+        double[] ys = new double[20_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        Track track = Track.of(xs, ys);
+
+        for (int nPts = 256; nPts <= 2048; nPts *= 2) {
+            for (double dist : new double[] {5, 14, 20, 30}) {
+                Parameters params = Parameters.builder().nPts(nPts).dist(dist).build();
+                assertEquals(evaluator.Lic6(track, params), evaluator.evaluateLicsFused(track, params)[6],
+                        "nPts " + nPts + ", dist " + dist);
+            }
+        }
+    }
+
+    /**
+     * Verifies that the SIMD kernels used for array-backed tracks give the same CMV as the
+     * scalar loops.
+     * <p>
+     * Test setup: random tracks of 0 to 40 points, so that the masked last iteration is hit for
+     * every remainder of the vector length, evaluated once as an {@code ArrayTrack} and once
+     * through a view of it, which always takes the scalar loops. Skipped when the
+     * {@code jdk.incubator.vector} module is not present.
+     * </p>
+     */
+    @Test
+    void evaluateLics_vectorKernelsMatchScalarLoops() {
+        assumeTrue(LicEvaluator.VECTOR_API);
+        LicEvaluator evaluator = new LicEvaluator();
+        Random random = new Random(12);
+        Parameters params = Parameters.builder()
+                .length1(12).area1(40).kPts(2).ePts(1).fPts(2).gPts(3).length2(4).area2(10)
+                .build();
+
+        for (int numPoints = 0; numPoints <= 40; numPoints++) {
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                xs[i] = i + random.nextInt(5) - 3;
+                ys[i] = random.nextInt(13) - 6;
+            }
+            Track arrays = Track.of(xs, ys);
+            Track view = new Track() {
+                public int size() { return arrays.size(); }
+                public double x(int i) { return arrays.x(i); }
+                public double y(int i) { return arrays.y(i); }
+            };
+
+            assertArrayEquals(evaluator.evaluateLics(view, params), evaluator.evaluateLics(arrays, params),
+                    "numPoints = " + numPoints);
+        }
+    }
+
+    /**
+     * Verifies that evaluating the LICs allocates nothing per window, in particular that LICs 2
+     * and 9 handle points coinciding with the vertex without creating exceptions.
+     * <p>
+     * Test setup: a stationary target, 100 000 identical points, so that every angle is
+     * undefined and no LIC stops early. The track is wrapped in a view so that the scalar loops
+     * run. After a warm-up, one evaluation of all 15 LICs must allocate less than 1 KB, while
+     * there are 100 000 windows per LIC.
+     * </p>
+     */
+    @Test
+    void evaluateLics_allocatesNothingPerWindow() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        LicEvaluator evaluator = new LicEvaluator();
+        double[] coordinates = new double[100_000];
+        Track points = Track.of(coordinates, coordinates);
+        Track view = new Track() {
+            public int size() { return points.size(); }
+            public double x(int i) { return points.x(i); }
+            public double y(int i) { return points.y(i); }
+        };
+        Parameters params = Parameters.builder().qPts(2).nPts(5).build();
+
+        for (int i = 0; i < 5; i++) {
+            evaluator.evaluateLics(view, params);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        boolean[] CMV = evaluator.evaluateLics(view, params);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertArrayEquals(new boolean[15], CMV);
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    /**
+     * Verifies that the sliding window of {@code Lic4} finds the same windows as counting the
+     * quadrants of every window from scratch.
+     * <p>
+     * Test setup: random points with integer coordinates in [-2, 2], so that many lie on the
+     * axes, and every combination of {@code qPts} in [2, 12] and {@code quads} in [1, 3].
+     * </p>
+     */
+    @Test
+    void lic4_slidingWindowMatchesRescan() {
+        LicEvaluator evaluator = new LicEvaluator();
+        Random random = new Random(16);
+        for (int n = 0; n < 200; n++) {
+            double[] xs = new double[random.nextInt(30)];
+            double[] ys = new double[xs.length];
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = random.nextInt(5) - 2;
+                ys[i] = random.nextBoolean() ? Math.abs(random.nextInt(5) - 2) : random.nextInt(5) - 2;
+            }
+            Track track = Track.of(xs, ys);
+
+            for (int qPts = 2; qPts <= 12; qPts++) {
+                for (int quads = 1; quads <= 3; quads++) {
+                    boolean expected = false;
+                    for (int start = 0; start + qPts <= xs.length; start++) {
+                        int covered = 0;
+                        for (int i = start; i < start + qPts; i++) covered |= 1 << LicEvaluator.quadrant(xs[i], ys[i]);
+                        if (Integer.bitCount(covered) > quads) expected = true;
+                    }
+                    Parameters params = Parameters.builder().qPts(qPts).quads(quads).build();
+
+                    assertEquals(expected, evaluator.Lic4(track, params), "qPts = " + qPts + ", quads = " + quads);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that searching the windows of each LIC in parallel gives the CMV of the
+     * sequential evaluator.
+     * <p>
+     * Test setup: a random track of 40 000 points with integer coordinates in [-10, 10], split
+     * into chunks on a pool of 4 threads, and 20 random sets of parameters with window offsets
+     * up to 300 and strict thresholds, so that many LICs search all chunks.
+     * </p>
+     */
+    @Test
+    void evaluateLics_parallelMatchesSequential() {
+        Random random = new Random(31);
+        double[] xs = new double[40_000];
+        double[] ys = new double[40_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        Track track = Track.of(xs, ys);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LicEvaluator parallel = new LicEvaluator(pool, 1);
+        LicEvaluator sequential = new LicEvaluator();
+
+        try {
+            for (int run = 0; run < 20; run++) {
+                Parameters params = Parameters.builder()
+                        .length1(random.nextInt(32)).radius1(random.nextInt(16)).epsilon(random.nextDouble() * 0.1)
+                        .area1(random.nextInt(500)).qPts(2 + random.nextInt(4)).quads(random.nextInt(4))
+                        .nPts(3 + random.nextInt(300)).dist(random.nextInt(32))
+                        .kPts(1 + random.nextInt(300)).aPts(1 + random.nextInt(5)).bPts(1 + random.nextInt(5))
+                        .cPts(1 + random.nextInt(5)).dPts(1 + random.nextInt(5))
+                        .ePts(1 + random.nextInt(5)).fPts(1 + random.nextInt(5)).gPts(1 + random.nextInt(300))
+                        .length2(random.nextInt(3)).radius2(random.nextInt(3)).area2(random.nextInt(3))
+                        .build();
+                assertArrayEquals(sequential.evaluateLics(track, params), parallel.evaluateLics(track, params),
+                        "run " + run);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that the chunks of a parallel search over an array-backed track, which run the
+     * SIMD kernels on ranges of the arrays, give the CMV of the scalar loops.
+     * <p>
+     * Test setup: a random track of 30 001 points with integer coordinates in [-10, 10], so that
+     * no chunk boundary is a multiple of the vector length for every span, on a pool of 4
+     * threads, compared with a sequential evaluation of a view of it, which always takes the
+     * scalar loops. 10 random sets of parameters with strict thresholds. Skipped when the
+     * {@code jdk.incubator.vector} module is not present.
+     * </p>
+     */
+    @Test
+    void evaluateLics_parallelVectorKernelsMatchScalarLoops() {
+        assumeTrue(LicEvaluator.VECTOR_API);
+        Random random = new Random(43);
+        double[] xs = new double[30_001];
+        double[] ys = new double[30_001];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        Track arrays = Track.of(xs, ys);
+        Track view = new Track() {
+            public int size() { return arrays.size(); }
+            public double x(int i) { return arrays.x(i); }
+            public double y(int i) { return arrays.y(i); }
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LicEvaluator parallel = new LicEvaluator(pool, 1);
+        LicEvaluator sequential = new LicEvaluator();
+
+        try {
+            for (int run = 0; run < 10; run++) {
+                Parameters params = Parameters.builder()
+                        .length1(20 + random.nextInt(12)).area1(150 + random.nextInt(300))
+                        .kPts(1 + random.nextInt(300)).ePts(1 + random.nextInt(5)).fPts(1 + random.nextInt(5))
+                        .gPts(1 + random.nextInt(300)).length2(random.nextInt(3)).area2(random.nextInt(3))
+                        .build();
+                assertArrayEquals(sequential.evaluateLics(view, params), parallel.evaluateLics(arrays, params),
+                        "run " + run);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that a parallel search finds windows at both ends of the track, and combines the
+     * two conditions of LIC 12 when they are met in different chunks.
+     * <p>
+     * Test setup: 50 000 points 10 apart along the x-axis, so that points two apart are 20
+     * apart. The first point is moved back to 100 further away, and the last point onto the
+     * point two before it. With LENGTH1 50, LENGTH2 1 and K_PTS 1, only the first window is
+     * longer than LENGTH1 and only the last one shorter than LENGTH2.
+     * </p>
+     */
+    @Test
+    void lic12_parallel_conditionsInDifferentChunks() {
+        double[] xs = new double[50_000];
+        double[] ys = new double[50_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 10 * i;
+        }
+        xs[0] = -100;
+        xs[xs.length - 1] = xs[xs.length - 3];
+        Track track = Track.of(xs, ys);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LicEvaluator evaluator = new LicEvaluator(pool, 1);
+
+        try {
+            assertTrue(evaluator.Lic12(track, Parameters.builder().kPts(1).length1(50).length2(1).build()));
+            assertTrue(evaluator.Lic7(track, Parameters.builder().kPts(1).length1(50).build()));
+            assertFalse(evaluator.Lic7(track, Parameters.builder().kPts(1).length1(120).build()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that evaluating the LICs concurrently gives the CMV of evaluating them one after
+     * the other, on a pool of platform threads and on virtual threads.
+     * <p>
+     * Test setup: random tracks of 10, 20 000 and 100 000 points with integer coordinates in
+     * [-10, 10], so that the LICs are evaluated in one, a few and many groups, each with 5 random
+     * sets of parameters.
+     * </p>
+     */
+    @Test
+    void evaluateLics_concurrentMatchesSequential() {
+        Random random = new Random(41);
+        LicEvaluator evaluator = new LicEvaluator();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int numPoints : new int[] {10, 20_000, 100_000}) {
+                double[] xs = new double[numPoints];
+                double[] ys = new double[numPoints];
+                for (int i = 0; i < numPoints; i++) {
+                    xs[i] = random.nextInt(21) - 10;
+                    ys[i] = random.nextInt(21) - 10;
+                }
+                Track track = Track.of(xs, ys);
+
+                for (int run = 0; run < 5; run++) {
+                    Parameters params = Parameters.builder()
+                            .length1(random.nextInt(32)).radius1(random.nextInt(16)).epsilon(random.nextDouble() * 0.1)
+                            .area1(random.nextInt(500)).qPts(2 + random.nextInt(4)).quads(random.nextInt(4))
+                            .nPts(3 + random.nextInt(8)).dist(random.nextInt(32))
+                            .kPts(1 + random.nextInt(5)).aPts(1 + random.nextInt(5)).bPts(1 + random.nextInt(5))
+                            .cPts(1 + random.nextInt(5)).dPts(1 + random.nextInt(5))
+                            .ePts(1 + random.nextInt(5)).fPts(1 + random.nextInt(5)).gPts(1 + random.nextInt(5))
+                            .length2(random.nextInt(3)).radius2(random.nextInt(3)).area2(random.nextInt(3))
+                            .build();
+                    boolean[] expected = evaluator.evaluateLics(track, params);
+                    String message = "numPoints " + numPoints + ", run " + run;
+                    assertArrayEquals(expected, evaluator.evaluateLics(track, params, pool), message);
+                    assertArrayEquals(expected, evaluator.evaluateLics(track, params, virtualThreads), message);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that the interruptible evaluator gives the CMV of the sequential one.
+     * <p>
+     * Test setup: a random track of 30 000 points with integer coordinates in [-10, 10], so that
+     * every LIC is searched in several chunks, with 5 random sets of parameters.
+     * </p>
+     */
+    @Test
+    void evaluateLics_interruptibleMatchesSequential() {
+        Random random = new Random(42);
+        double[] xs = new double[30_000];
+        double[] ys = new double[30_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(21) - 10;
+            ys[i] = random.nextInt(21) - 10;
+        }
+        Track track = Track.of(xs, ys);
+
+        for (int run = 0; run < 5; run++) {
+            Parameters params = Parameters.builder()
+                    .length1(random.nextInt(32)).radius1(random.nextInt(16)).epsilon(random.nextDouble() * 0.1)
+                    .area1(random.nextInt(500)).qPts(2 + random.nextInt(4)).quads(random.nextInt(4))
+                    .nPts(3 + random.nextInt(8)).dist(random.nextInt(32))
+                    .kPts(1 + random.nextInt(5)).aPts(1 + random.nextInt(5)).bPts(1 + random.nextInt(5))
+                    .cPts(1 + random.nextInt(5)).dPts(1 + random.nextInt(5))
+                    .ePts(1 + random.nextInt(5)).fPts(1 + random.nextInt(5)).gPts(1 + random.nextInt(5))
+                    .length2(random.nextInt(3)).radius2(random.nextInt(3)).area2(random.nextInt(3))
+                    .build();
+            assertArrayEquals(new LicEvaluator().evaluateLics(track, params),
+                              LicEvaluator.interruptible().evaluateLics(track, params), "run " + run);
+        }
+    }
+
+    /**
+     * Verifies that the interruptible evaluator stops when its thread is interrupted.
+     * <p>
+     * Test setup: 20 000 points at the origin, so that no window satisfies LIC 0 and every
+     * chunk is searched, on a thread that is already interrupted.
+     * Expected outcome: a {@code CancellationException}, with the interrupt still set.
+     * </p>
+     */
+    @Test
+    void evaluateLic_interruptedThread_throwsCancellationException() {
+        Track track = Track.of(new double[20_000], new double[20_000]);
+        Parameters params = Parameters.builder().length1(1).build();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> LicEvaluator.interruptible().evaluateLic(0, track, params));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LicScheduleTest {
+
+    /**
+     * Verifies that every LIC is in exactly one group, and that the groups are ordered from
+     * most to least expensive.
+     * <p>
+     * Test setup: 100 000 points and the default parameters, except {@code nPts} 100, so that
+     * LIC 6 is by far the most expensive.
+     * </p>
+     */
+    @Test
+    void groups_partitionTheLics() {
+        Parameters params = Parameters.builder().nPts(100).build();
+        int[] groups = LicSchedule.groups(100_000, params);
+
+        int covered = 0;
+        long previousCost = Long.MAX_VALUE;
+        for (int group : groups) {
+            assertEquals(0, covered & group, "a LIC is in two groups");
+            covered |= group;
+
+            long cost = 0;
+            for (int lic = 0; lic < 15; lic++) {
+                if ((group & (1 << lic)) != 0) cost += LicSchedule.cost(lic, 100_000, params);
+            }
+            assertTrue(cost <= previousCost, "groups are not ordered by cost");
+            previousCost = cost;
+        }
+        assertEquals(Evaluator.ALL, covered);
+        assertEquals(1 << 6, groups[0]);
+    }
+
+    /**
+     * Verifies that the LICs of a small track are evaluated in a single group.
+     * <p>
+     * Test setup: 100 points and the default parameters.
+     * </p>
+     */
+    @Test
+    void groups_smallTrack_singleGroup() {
+        assertArrayEquals(new int[] {Evaluator.ALL}, LicSchedule.groups(100, Parameters.builder().build()));
+    }
+}
@@ -0,0 +1,72 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.foreign.Arena;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapTrackTest {
+
+    /**
+     * Verifies that coordinates written with {@code set} are read back unchanged.
+     */
+    @Test
+    void set_readsBackCoordinates() {
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapTrack track = OffHeapTrack.allocate(arena, 2);
+            track.set(0, 1.5, -2);
+            track.set(1, 3, 4.25);
+
+            assertEquals(2, track.size());
+            assertEquals(1.5, track.x(0));
+            assertEquals(-2, track.y(0));
+            assertEquals(3, track.x(1));
+            assertEquals(4.25, track.y(1));
+        }
+    }
+
+    /**
+     * Verifies that the LICs evaluate an off-heap copy of a track to the same CMV as the
+     * original track.
+     * <p>
+     * Test setup: The 5 data points (0,0), (2,0), (0,2), (-1,-1), (2,0) with parameters for
+     * which some LICs are true and some are false.
+     * </p>
+     */
+    @Test
+    void evaluateLics_offHeapCopy_matchesArrayTrack() {
+        LicEvaluator evaluator = new LicEvaluator();
+        Track onHeap = Track.of(new double[]{0, 2, 0, -1, 2}, new double[]{0, 0, 2, -1, 0});
+        Parameters params = Parameters.builder()
+                .length1(2.5)
+                .radius1(1)
+                .epsilon(Math.PI / 6)
+                .area1(1.5)
+                .qPts(3)
+                .quads(2)
+                .nPts(3)
+                .build();
+
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapTrack offHeap = OffHeapTrack.copyOf(arena, onHeap);
+
+            assertArrayEquals(evaluator.evaluateLics(onHeap, params), evaluator.evaluateLics(offHeap, params));
+        }
+    }
+
+    /**
+     * Verifies that a track cannot be read once the arena owning its memory has been closed.
+     */
+    @Test
+    void x_afterArenaClosed_throwsException() {
+        OffHeapTrack track;
+        try (Arena arena = Arena.ofConfined()) {
+            track = OffHeapTrack.allocate(arena, 1);
+        }
+
+        assertThrows(IllegalStateException.class, () -> track.x(0));
+    }
+}
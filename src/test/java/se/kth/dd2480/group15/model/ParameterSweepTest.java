@@ -0,0 +1,85 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static se.kth.dd2480.group15.Fixtures.randomTrack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.utils.Utils;
+
+class ParameterSweepTest {
+
+    /**
+     * Verifies that the CMV of every set of parameters equals the CMV computed by
+     * {@code evaluateLics}.
+     * <p>
+     * Test setup: 300 random points with integer coordinates in [-10, 10] and a grid of 200
+     * random parameter sets with small window offsets, so that offsets repeat and extrema are
+     * shared between parameter sets.
+     * </p>
+     */
+    @Test
+    void cmv_matchesEvaluateLics() {
+        Track track = randomTrack(new Random(11), 300, 10);
+        List<Parameters> grid = randomGrid(new Random(12), 200);
+        LicEvaluator evaluator = new LicEvaluator();
+        ParameterSweep sweep = new ParameterSweep(track);
+
+        for (int i = 0; i < grid.size(); i++)
+            assertEquals(Utils.pack(evaluator.evaluateLics(track, grid.get(i))), sweep.cmv(grid.get(i)), "parameters " + i);
+    }
+
+    /**
+     * Verifies that the decision map equals the decision of {@code evaluateLAUNCH} for each
+     * set of parameters.
+     * <p>
+     * Test setup: The track and grid of {@link #cmv_matchesEvaluateLics()}, with an LCM that
+     * connects LICs 0-4 by ANDD and LICs 5-9 by ORR, and considers rows 0, 5 and 7.
+     * </p>
+     */
+    @Test
+    void decideAll_matchesEvaluator() {
+        Track track = randomTrack(new Random(11), 300, 10);
+        List<Parameters> grid = randomGrid(new Random(12), 200);
+        Connectors[][] LCM = new Connectors[15][15];
+        for (Connectors[] row : LCM)
+            Arrays.fill(row, Connectors.NOTUSED);
+        for (int i = 0; i < 5; i++) {
+            Arrays.fill(LCM[i], 0, 5, Connectors.ANDD);
+            Arrays.fill(LCM[i + 5], 5, 10, Connectors.ORR);
+        }
+        boolean[] PUV = new boolean[15];
+        PUV[0] = PUV[5] = PUV[7] = true;
+
+        BitSet launches = new ParameterSweep(track).decideAll(grid, LCM, PUV);
+
+        LicEvaluator licEvaluator = new LicEvaluator();
+        Evaluator evaluator = new Evaluator();
+        for (int i = 0; i < grid.size(); i++) {
+            boolean[] CMV = licEvaluator.evaluateLics(track, grid.get(i));
+            boolean launch = evaluator.evaluateLAUNCH(evaluator.evaluateFUV(evaluator.evaluatePUM(LCM, CMV), PUV));
+            assertEquals(launch, launches.get(i), "parameters " + i);
+        }
+    }
+
+    private static List<Parameters> randomGrid(Random random, int size) {
+        List<Parameters> grid = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            grid.add(Parameters.builder()
+                    .length1(random.nextInt(60) / 2.0).radius1(random.nextInt(40) / 2.0)
+                    .epsilon(random.nextInt(8) * 0.4).area1(random.nextInt(200) / 2.0)
+                    .qPts(2 + random.nextInt(4)).quads(1 + random.nextInt(3)).dist(random.nextInt(30) / 2.0)
+                    .nPts(3 + random.nextInt(3)).kPts(random.nextInt(4)).aPts(1 + random.nextInt(2))
+                    .bPts(1 + random.nextInt(2)).cPts(1 + random.nextInt(2)).dPts(1 + random.nextInt(2))
+                    .ePts(1 + random.nextInt(2)).fPts(1 + random.nextInt(2)).gPts(1 + random.nextInt(3))
+                    .length2(random.nextInt(10)).radius2(random.nextInt(10) / 2.0).area2(random.nextInt(20) / 2.0)
+                    .build());
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,36 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ParametersTest {
+
+    /**
+     * Verifies that parameters built from the same values are equal and have the same hash code.
+     */
+    @Test
+    void equals_sameValues_equalAndSameHashCode() {
+        Parameters a = Parameters.builder().length1(3).radius1(1.5).epsilon(0.2).nPts(4).gPts(2).area2(Double.NaN).build();
+        Parameters b = Parameters.builder().length1(3).radius1(1.5).epsilon(0.2).nPts(4).gPts(2).area2(Double.NaN).build();
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    /**
+     * Verifies that parameters differing in a single value are not equal.
+     */
+    @Test
+    void equals_differentValue_notEqual() {
+        Parameters base = Parameters.builder().build();
+
+        assertNotEquals(base, Parameters.builder().length1(2).build());
+        assertNotEquals(base, Parameters.builder().epsilon(0.5).build());
+        assertNotEquals(base, Parameters.builder().quads(2).build());
+        assertNotEquals(base, Parameters.builder().gPts(2).build());
+        assertNotEquals(base, Parameters.builder().area2(2).build());
+        assertNotEquals(Parameters.builder().dist(0.0).build(), Parameters.builder().dist(-0.0).build());
+    }
+}
@@ -0,0 +1,39 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PointArrayTrackTest {
+
+    /**
+     * Verifies that {@code Track.of} reads the first {@code numPoints} points from the array
+     * itself rather than from a copy.
+     * <p>
+     * Test setup: 3 points (1,2), (3,4), (5,6) of which the first 2 are viewed; the second point
+     * is then replaced by (7,8).
+     * </p>
+     */
+    @Test
+    void of_readsArrayWithoutCopying() {
+        Point[] points = {new Point(1, 2), new Point(3, 4), new Point(5, 6)};
+
+        Track track = Track.of(points, 2);
+        points[1] = new Point(7, 8);
+
+        assertEquals(2, track.size());
+        assertEquals(1, track.x(0));
+        assertEquals(2, track.y(0));
+        assertEquals(7, track.x(1));
+        assertEquals(8, track.y(1));
+    }
+
+    /**
+     * Verifies that a negative {@code numPoints} yields an empty track, as for
+     * {@code ArrayTrack.copyOf}.
+     */
+    @Test
+    void of_negativeNumPoints_returnsEmptyTrack() {
+        assertEquals(0, Track.of(new Point[]{new Point(1, 2)}, -1).size());
+    }
+}
@@ -0,0 +1,114 @@
+package se.kth.dd2480.group15.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StreamingLicEvaluatorTest {
+
+    /**
+     * Verifies that after every append the streamed CMV equals the CMV that
+     * {@code evaluateLics} computes for the points appended so far.
+     * <p>
+     * Test setup: 40 random points with integer coordinates in [-5, 5], streamed with
+     * parameters whose windows have different sizes, so that LICs become valid at different
+     * track lengths.
+     * </p>
+     */
+    @Test
+    void append_matchesEvaluateLicsOnEveryPrefix() {
+        Parameters params = Parameters.builder()
+                .length1(6).radius1(3).epsilon(Math.PI / 4).area1(10).qPts(4).quads(2)
+                .dist(4).nPts(5).kPts(2).aPts(1).bPts(2).cPts(2).dPts(1).ePts(3).fPts(1).gPts(3)
+                .length2(2).radius2(4).area2(3)
+                .build();
+        Random random = new Random(15);
+        double[] xs = new double[40];
+        double[] ys = new double[40];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(11) - 5;
+            ys[i] = random.nextInt(11) - 5;
+        }
+
+        StreamingLicEvaluator streaming = new StreamingLicEvaluator(params);
+        LicEvaluator evaluator = new LicEvaluator();
+        for (int n = 1; n <= xs.length; n++) {
+            streaming.append(xs[n - 1], ys[n - 1]);
+
+            Track prefix = new ArrayTrack(Arrays.copyOf(xs, n), Arrays.copyOf(ys, n));
+            assertArrayEquals(evaluator.evaluateLics(prefix, params), streaming.cmv(), "after " + n + " points");
+        }
+    }
+
+    /**
+     * Verifies that a LIC stays satisfied once a window has satisfied it, even when the
+     * points that satisfied it have left the ring buffer.
+     * <p>
+     * Test setup: LIC 0 with LENGTH1 = 3; the first two points are 5 apart, all later points
+     * coincide.
+     * </p>
+     */
+    @Test
+    void append_licStaysLatched() {
+        StreamingLicEvaluator streaming = new StreamingLicEvaluator(Parameters.builder().length1(3).build());
+
+        streaming.append(1, 1);
+        streaming.append(4, 5);
+        assertTrue(streaming.isSatisfied(0));
+        for (int i = 0; i < 100; i++) {
+            streaming.append(4, 5);
+        }
+
+        assertTrue(streaming.isSatisfied(0));
+    }
+
+    /**
+     * Verifies that a window completed before the LIC had enough points counts once the track
+     * is long enough.
+     * <p>
+     * Test setup: LIC 12 with K_PTS = 0, LENGTH1 = 3 and LENGTH2 = 10. The window (0, 1) is 5
+     * long and satisfies both distances, but LIC 12 requires 3 points. The third point is far
+     * away, so only the earlier window can make LIC 12 true.
+     * </p>
+     */
+    @Test
+    void append_earlierWindowCountsOnceTrackIsLongEnough() {
+        StreamingLicEvaluator streaming = new StreamingLicEvaluator(
+                Parameters.builder().kPts(0).length1(3).length2(10).build());
+
+        streaming.append(1, 1);
+        streaming.append(4, 5);
+        assertFalse(streaming.isSatisfied(12));
+        streaming.append(100, 100);
+
+        assertTrue(streaming.isSatisfied(12));
+    }
+
+    /**
+     * Verifies that the data points of a stream longer than an int can count are still read
+     * from the right slot of the ring, at any distance back that a window can span.
+     * <p>
+     * Test setup: positions from the first folded one to {@code Long.MAX_VALUE}, and distances
+     * back from 0 to {@code FOLD - 1}, the largest span a sweep may have.
+     * </p>
+     */
+    @Test
+    void index_pastIntRange_addressesSameSlot() {
+        int fold = StreamingLicEvaluator.FOLD;
+        long[] positions = {fold - 1L, fold, fold + 5L, Integer.MAX_VALUE, 1L << 31, (1L << 32) + 7, Long.MAX_VALUE};
+        for (long position : positions) {
+            int index = StreamingLicEvaluator.index(position);
+            for (int distance : new int[] {0, 1, 1000, fold - 1}) {
+                assertTrue(index - distance >= 0, "position " + position + ", distance " + distance);
+                assertEquals((position - distance) & (fold - 1), (index - distance) & (fold - 1),
+                        "position " + position + ", distance " + distance);
+            }
+        }
+    }
+}
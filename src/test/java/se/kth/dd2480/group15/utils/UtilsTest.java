@@ -1,8 +1,11 @@
 package se.kth.dd2480.group15.utils;
 
 import org.junit.jupiter.api.Test;
+import se.kth.dd2480.group15.model.LicEvaluator;
 import se.kth.dd2480.group15.model.Point;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class UtilsTest {
@@ -249,4 +252,216 @@ class UtilsTest {
         boolean result = Utils.allTrue(boolArray);
         assertFalse(result);
     }
+
+    /**
+     * Verifies that {@code pack} sets bit i for every true entry and that {@code unpack}
+     * restores the array.
+     */
+    @Test
+    void pack_unpack_roundTrip() {
+        boolean[] arr = {true, false, false, true, true};
+
+        int bits = Utils.pack(arr);
+
+        assertEquals(0b11001, bits);
+        assertArrayEquals(arr, Utils.unpack(bits, arr.length));
+    }
+
+    /**
+     * Verifies that comparing a squared length against {@code squaredThreshold} agrees with
+     * comparing its square root against the length, including lengths whose square is not
+     * representable and squared lengths right next to the threshold.
+     */
+    @Test
+    void squaredThreshold_agreesWithSquareRoot() {
+        Random random = new Random(13);
+        for (int n = 0; n < 10000; n++) {
+            double length = n % 2 == 0 ? random.nextInt(20) * 0.5 : random.nextDouble() * 10;
+            double threshold = Utils.squaredThreshold(length);
+            double below = Utils.squaredThreshold(Math.nextDown(length));
+            double[] squares = {length * length, Math.nextUp(length * length), Math.nextDown(length * length),
+                    threshold, Math.nextUp(threshold), random.nextDouble() * 100};
+            for (double square : squares) {
+                assertEquals(Math.sqrt(square) > length, square > threshold, "length = " + length + ", square = " + square);
+                assertEquals(Math.sqrt(square) < length, square <= below, "length = " + length + ", square = " + square);
+            }
+        }
+        assertEquals(-1, Utils.squaredThreshold(-2));
+    }
+
+    /**
+     * Verifies that {@code areaExceeds} and {@code areaBelow} agree with {@code doubleCompare}
+     * on {@code getTriangleArea}, also for areas within the tolerance of the threshold.
+     */
+    @Test
+    void areaExceeds_areaBelow_agreeWithDoubleCompare() {
+        Random random = new Random(14);
+        for (int n = 0; n < 10000; n++) {
+            double x1 = random.nextInt(7) - 3, y1 = random.nextInt(7) - 3;
+            double x2 = random.nextInt(7) - 3, y2 = random.nextInt(7) - 3;
+            double x3 = random.nextGaussian(), y3 = random.nextInt(7) - 3;
+            double area = Utils.getTriangleArea(x1, y1, x2, y2, x3, y3);
+            double threshold = area + (random.nextInt(5) - 2) * 0.6 * Utils.PRECISION;
+
+            CompType expected = Utils.doubleCompare(area, threshold);
+            assertEquals(expected == CompType.GT, Utils.areaExceeds(x1, y1, x2, y2, x3, y3, threshold));
+            assertEquals(expected == CompType.LT, Utils.areaBelow(x1, y1, x2, y2, x3, y3, threshold));
+        }
+    }
+
+    /**
+     * Verifies that {@code radiusExceeds} agrees with comparing {@code getCircleRadius} against
+     * the radius, for obtuse, right and acute triangles.
+     */
+    @Test
+    void radiusExceeds_agreesWithGetCircleRadius() {
+        Random random = new Random(15);
+        for (int n = 0; n < 10000; n++) {
+            double x1 = random.nextInt(7) - 3, y1 = random.nextInt(7) - 3;
+            double x2 = random.nextInt(7) - 3, y2 = random.nextInt(7) - 3;
+            double x3 = random.nextInt(7) - 3, y3 = random.nextInt(7) - 3;
+            double radius = random.nextInt(10) * 0.5;
+
+            assertEquals(Utils.getCircleRadius(x1, y1, x2, y2, x3, y3) > radius,
+                    Utils.radiusExceeds(x1, y1, x2, y2, x3, y3, Utils.squaredThreshold(radius)));
+        }
+    }
+
+    /**
+     * Verifies that the squared radius of an acute triangle is the squared distance from its
+     * vertices to the circumcentre.
+     * <p>
+     * Test setup: 10000 triangles with vertices on a circle of random centre and radius, spread
+     * by about a third of the circle so that most are acute, and one triangle with coordinates
+     * around 1e100, whose product of squared sides overflows.
+     * </p>
+     */
+    @Test
+    void getSquaredCircleRadius_acuteTriangle_matchesCircumcircle() {
+        Random random = new Random(22);
+        for (int n = 0; n < 10000; n++) {
+            double cx = random.nextDouble(-100, 100), cy = random.nextDouble(-100, 100);
+            double radius = random.nextDouble(0.1, 100);
+            double start = random.nextDouble(0, 2 * Math.PI);
+            double[] angles = {start, start + 2.1 + random.nextDouble(-0.2, 0.2), start + 4.2 + random.nextDouble(-0.2, 0.2)};
+            double[] xs = new double[3], ys = new double[3];
+            for (int k = 0; k < 3; k++) {
+                xs[k] = cx + radius * Math.cos(angles[k]);
+                ys[k] = cy + radius * Math.sin(angles[k]);
+            }
+
+            assertEquals(radius * radius, Utils.getSquaredCircleRadius(xs[0], ys[0], xs[1], ys[1], xs[2], ys[2]),
+                    radius * radius * 1e-9);
+        }
+
+        double large = Utils.getSquaredCircleRadius(0, 4e100, -2e100, 0, 2e100, 0);
+        assertEquals(6.25e200, large, 6.25e200 * 1e-12);
+    }
+
+    /**
+     * Verifies that {@code angleBand} reports a point coinciding with the vertex as undefined
+     * instead of throwing.
+     */
+    @Test
+    void angleBand_pointCoincidesVertex_returnsUndefined() {
+        assertEquals(AngleBand.UNDEFINED, Utils.angleBand(1, 1, 1, 1, 2, 2, 0));
+        assertEquals(AngleBand.UNDEFINED, Utils.angleBand(0, 0, 1, 1, 1, 1, 0));
+    }
+
+    /**
+     * Verifies that {@code angleBand} agrees with comparing {@code angleAtVertex} against
+     * PI ± epsilon using {@code doubleCompare}.
+     * <p>
+     * Test setup: random triples with Gaussian coordinates and random epsilon in [0, PI), with
+     * the cosine bound computed as in {@code Parameters}.
+     * </p>
+     */
+    @Test
+    void angleBand_agreesWithAngleAtVertex() {
+        Random random = new Random(16);
+        for (int n = 0; n < 10000; n++) {
+            double x1 = random.nextGaussian(), y1 = random.nextGaussian();
+            double vx = random.nextGaussian(), vy = random.nextGaussian();
+            double x3 = random.nextGaussian(), y3 = random.nextGaussian();
+            double epsilon = random.nextDouble() * LicEvaluator.PI;
+            double cosineBound = Math.cos(LicEvaluator.PI - epsilon - Utils.PRECISION);
+
+            double angle = Utils.angleAtVertex(x1, y1, vx, vy, x3, y3);
+            boolean outside = Utils.doubleCompare(angle, LicEvaluator.PI - epsilon) == CompType.LT
+                    || Utils.doubleCompare(angle, LicEvaluator.PI + epsilon) == CompType.GT;
+
+            assertEquals(outside ? AngleBand.OUTSIDE : AngleBand.INSIDE,
+                    Utils.angleBand(x1, y1, vx, vy, x3, y3, cosineBound));
+        }
+    }
+
+    /**
+     * Verifies that the cosine of an angle, and whether it is outside the band, does not depend
+     * on the scale of the coordinates, even where squaring them overflows or underflows.
+     * <p>
+     * Test setup: 10000 random triples with integer coordinates in [-10, 10], evaluated as they
+     * are and multiplied by 1e160 and by 1e-160, and a right and a straight angle at each scale.
+     * </p>
+     */
+    @Test
+    void angleCosine_extremeScale_matchesUnitScale() {
+        for (double scale : new double[] {1e160, 1e-160}) {
+            assertEquals(0, Utils.angleCosine(2 * scale, scale, scale, scale, scale, 2 * scale), TEST_PRECISION);
+            assertEquals(-1, Utils.angleCosine(0, 0, scale, scale, 2 * scale, 2 * scale), TEST_PRECISION);
+        }
+
+        Random random = new Random(14);
+        double cosineBound = Math.cos(LicEvaluator.PI - 0.5 - Utils.PRECISION);
+        for (int n = 0; n < 10000; n++) {
+            double[] c = new double[6];
+            for (int i = 0; i < c.length; i++) c[i] = random.nextInt(21) - 10;
+            double cosine = Utils.angleCosine(c[0], c[1], c[2], c[3], c[4], c[5]);
+            AngleBand band = Utils.angleBand(c[0], c[1], c[2], c[3], c[4], c[5], cosineBound);
+
+            for (double scale : new double[] {1e160, 1e-160}) {
+                double[] s = new double[6];
+                for (int i = 0; i < s.length; i++) s[i] = c[i] * scale;
+                if (band != AngleBand.UNDEFINED) {
+                    assertEquals(cosine, Utils.angleCosine(s[0], s[1], s[2], s[3], s[4], s[5]), 1e-12,
+                            "triple " + n + ", scale " + scale);
+                }
+                assertEquals(band, Utils.angleBand(s[0], s[1], s[2], s[3], s[4], s[5], cosineBound),
+                        "triple " + n + ", scale " + scale);
+            }
+        }
+    }
+
+    /**
+     * Verifies that {@code angleBand}, which compares without a square root, agrees with
+     * comparing {@code angleCosine} against the bound, also where squaring the coordinates
+     * overflows or underflows.
+     * <p>
+     * Test setup: 10000 random triples with integer coordinates in [-10, 10], at scales 1, 1e160
+     * and 1e-160, against bounds across [-1, 1], +1 itself and the bound of an empty band.
+     * Triples whose cosine is within 1e-12 of the bound are left out, as the two computations
+     * round differently.
+     * </p>
+     */
+    @Test
+    void angleBand_extremeScale_agreesWithAngleCosine() {
+        Random random = new Random(15);
+        double[] bounds = {-1, -0.7, -0.2, 0, 0.3, 0.9, 1, Double.POSITIVE_INFINITY};
+        for (int n = 0; n < 10000; n++) {
+            double[] c = new double[6];
+            for (int i = 0; i < c.length; i++) c[i] = random.nextInt(21) - 10;
+            if ((c[0] == c[2] && c[1] == c[3]) || (c[4] == c[2] && c[5] == c[3])) continue;
+
+            for (double scale : new double[] {1, 1e160, 1e-160}) {
+                double[] s = new double[6];
+                for (int i = 0; i < s.length; i++) s[i] = c[i] * scale;
+                double cosine = Utils.angleCosine(s[0], s[1], s[2], s[3], s[4], s[5]);
+                for (double bound : bounds) {
+                    if (Math.abs(cosine - bound) < 1e-12) continue;
+                    assertEquals(cosine < bound ? AngleBand.INSIDE : AngleBand.OUTSIDE,
+                            Utils.angleBand(s[0], s[1], s[2], s[3], s[4], s[5], bound),
+                            "triple " + n + ", scale " + scale + ", bound " + bound);
+                }
+            }
+        }
+    }
 }